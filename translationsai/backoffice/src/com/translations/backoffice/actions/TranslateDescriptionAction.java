@@ -14,6 +14,7 @@ import org.apache.log4j.Logger;
 import com.translations.ai.dto.options.PromptOptions;
 import com.translations.ai.dto.response.Translation;
 import com.translations.ai.exception.AiClientException;
+import com.translations.ai.service.TranslationStateService;
 import com.translations.ai.service.TranslationsAiService;
 import com.translations.constants.TranslationsaiConstants;
 import org.zkoss.zk.ui.Desktop;
@@ -34,6 +35,8 @@ public class TranslateDescriptionAction implements CockpitAction<ProductModel, O
     @Resource
     private TranslationsAiService translationsAiService;
     @Resource
+    private TranslationStateService translationStateService;
+    @Resource
     private ModelService modelService;
     @Resource
     private NotificationService notificationService;
@@ -110,8 +113,8 @@ public class TranslateDescriptionAction implements CockpitAction<ProductModel, O
                     final boolean enhance = enhanceCheckbox.isChecked();
                     optionsWindow.detach();
 
-                    final List<Translation> translations = getDescriptionsForOption(locale, product, enhance);
-                    if (CollectionUtils.isEmpty(translations)) {
+                    final Map<String, List<Translation>> translations = getDescriptionsForOption(locale, product, enhance);
+                    if (translations.values().stream().allMatch(CollectionUtils::isEmpty)) {
                         notificationService.notifyUser(
                                 notificationService.getWidgetNotificationSource(ctx),
                                 TranslationsaiConstants.NOTIFICATION_TYPE,
@@ -120,7 +123,7 @@ public class TranslateDescriptionAction implements CockpitAction<ProductModel, O
                         return;
                     }
 
-                    showResultsWindow(ctx, product, locale, originalDescription, translations);
+                    showResultsWindow(ctx, product, locale, translations);
                 } catch (final AiClientException e) {
                     LOG.error("AI translation failed", e);
                     notificationService.notifyUser(
@@ -181,14 +184,24 @@ public class TranslateDescriptionAction implements CockpitAction<ProductModel, O
                 ctx.getLabel("translateDescriptionAction.cancelled"));
     }
 
-    private void handleSaveBtnEvent(ActionContext<ProductModel> ctx, LinkedHashMap<String, Textbox> editors, ProductModel product, Window window) {
+    private void handleSaveBtnEvent(ActionContext<ProductModel> ctx, Map<String, LinkedHashMap<String, Textbox>> editors,
+                                    ProductModel product, Locale locale, Window window) {
         try {
-            for (Map.Entry<String, Textbox> entry : editors.entrySet()) {
-                final Locale loc = Locale.forLanguageTag(entry.getKey());
-                final String value = entry.getValue().getValue();
-                product.setDescription(value, loc);
+            for (Map.Entry<String, LinkedHashMap<String, Textbox>> attribute : editors.entrySet()) {
+                for (Map.Entry<String, Textbox> entry : attribute.getValue().entrySet()) {
+                    final Locale loc = Locale.forLanguageTag(entry.getKey());
+                    final String value = entry.getValue().getValue();
+                    modelService.setAttributeValue(product, attribute.getKey(), Collections.singletonMap(loc, value));
+                }
             }
             modelService.save(product);
+            // record the (possibly enhanced) source the translations were made from, so scheduled runs skip them
+            final List<String> translatedLangs = editors.values().stream()
+                    .flatMap(langs -> langs.keySet().stream())
+                    .filter(lang -> !lang.equals(locale.toLanguageTag()))
+                    .distinct()
+                    .collect(Collectors.toList());
+            translationStateService.markTranslated(product, locale, translatedLangs);
             objectFacade.reload(product);
 
             notificationService.notifyUser(
@@ -271,39 +284,45 @@ public class TranslateDescriptionAction implements CockpitAction<ProductModel, O
     private void showResultsWindow(final ActionContext<ProductModel> ctx,
                                    final ProductModel product,
                                    final Locale locale,
-                                   final String originalDescription,
-                                   final List<Translation> translations) {
+                                   final Map<String, List<Translation>> translations) {
         final Window window = createWindow(ctx);
 
         final Vbox root = new Vbox();
         root.setHflex("1");
         root.setSpacing("10px");
 
-        final Label originalLabel = new Label("Original (" + locale.toLanguageTag() + "):");
-        root.appendChild(originalLabel);
-        final Textbox originalDescriptionTextbox = new Textbox(originalDescription);
-        originalDescriptionTextbox.setReadonly(true);
-        originalDescriptionTextbox.setMultiline(true);
-        originalDescriptionTextbox.setHeight("80px");
-        originalDescriptionTextbox.setHflex("1");
-        root.appendChild(originalDescriptionTextbox);
-        root.appendChild(new Separator());
-
-        final LinkedHashMap<String, Textbox> editors = new LinkedHashMap<>();
-        for (Translation translation : translations) {
-            final String lang = translation.getLang();
-            final String suggestion = translation.getDescription();
-
-            final Label langLbl = new Label(lang + ":");
-            root.appendChild(langLbl);
-
-            final Textbox editor = new Textbox(suggestion);
-            editor.setMultiline(true);
-            editor.setHeight("80px");
-            editor.setHflex("1");
-            editors.put(lang, editor);
-            root.appendChild(editor);
+        final Map<String, LinkedHashMap<String, Textbox>> editors = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Translation>> attribute : translations.entrySet()) {
+            final String qualifier = attribute.getKey();
+            final Object original = modelService.getAttributeValue(product, qualifier, locale);
+
+            final Label originalLabel = new Label("Original " + qualifier + " (" + locale.toLanguageTag() + "):");
+            root.appendChild(originalLabel);
+            final Textbox originalTextbox = new Textbox(original != null ? original.toString() : "");
+            originalTextbox.setReadonly(true);
+            originalTextbox.setMultiline(true);
+            originalTextbox.setHeight("80px");
+            originalTextbox.setHflex("1");
+            root.appendChild(originalTextbox);
             root.appendChild(new Separator());
+
+            final LinkedHashMap<String, Textbox> attributeEditors = new LinkedHashMap<>();
+            for (Translation translation : attribute.getValue()) {
+                final String lang = translation.getLang();
+                final String suggestion = translation.getDescription();
+
+                final Label langLbl = new Label(qualifier + " " + lang + ":");
+                root.appendChild(langLbl);
+
+                final Textbox editor = new Textbox(suggestion);
+                editor.setMultiline(true);
+                editor.setHeight("80px");
+                editor.setHflex("1");
+                attributeEditors.put(lang, editor);
+                root.appendChild(editor);
+                root.appendChild(new Separator());
+            }
+            editors.put(qualifier, attributeEditors);
         }
 
         final Hbox buttons = new Hbox();
@@ -336,7 +355,7 @@ public class TranslateDescriptionAction implements CockpitAction<ProductModel, O
         window.appendChild(borderlayout);
 
         saveBtn.addEventListener(Events.ON_CLICK, event -> {
-            handleSaveBtnEvent(ctx, editors, product, window);
+            handleSaveBtnEvent(ctx, editors, product, locale, window);
         });
 
         cancelBtn.addEventListener(Events.ON_CLICK, event -> {
@@ -357,9 +376,9 @@ public class TranslateDescriptionAction implements CockpitAction<ProductModel, O
         }
     }
 
-    private List<Translation> getDescriptionsForOption(final Locale locale,
-                                                       final ProductModel product,
-                                                       final boolean enhance) {
+    private Map<String, List<Translation>> getDescriptionsForOption(final Locale locale,
+                                                                    final ProductModel product,
+                                                                    final boolean enhance) {
         final PromptOptions options = new PromptOptions();
         options.setSourceLanguage(locale.toLanguageTag());
         options.setTone("professional");
@@ -377,6 +396,7 @@ public class TranslateDescriptionAction implements CockpitAction<ProductModel, O
         }
         options.setTargetLanguages(targetLangs);
 
-        return translationsAiService.translateDescription(product, locale, options);
+        // all configured localized attributes (translationsai.attributes) in one request
+        return translationsAiService.translateAttributes(product, locale, options);
     }
 }
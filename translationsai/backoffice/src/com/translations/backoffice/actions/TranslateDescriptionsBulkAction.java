@@ -0,0 +1,178 @@
+package com.translations.backoffice.actions;
+
+import com.hybris.cockpitng.actions.ActionContext;
+import com.hybris.cockpitng.actions.ActionResult;
+import com.hybris.cockpitng.actions.CockpitAction;
+import com.hybris.cockpitng.util.notifications.NotificationService;
+import com.hybris.cockpitng.util.notifications.event.NotificationEvent;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.i18n.I18NService;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.log4j.Logger;
+import com.translations.ai.dto.bulk.BulkTranslationProgress;
+import com.translations.ai.dto.request.TokenEstimate;
+import com.translations.ai.service.BulkTranslationService;
+import com.translations.ai.service.TranslationsAiService;
+import com.translations.constants.TranslationsaiConstants;
+import org.zkoss.zk.ui.Desktop;
+import org.zkoss.zk.ui.Executions;
+import org.zkoss.zk.ui.event.Events;
+import org.zkoss.zul.*;
+
+import javax.annotation.Resource;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * List view action to translate the descriptions of all selected products in the background using AI.
+ * The confirmation shows a local token estimate of the task (dry run); the selection is then submitted as one
+ * {@link BulkTranslationService} task and a modal window polls its progress until the task finishes or is cancelled.
+ */
+public class TranslateDescriptionsBulkAction implements CockpitAction<Collection<ProductModel>, Object> {
+    private static final Logger LOG = Logger.getLogger(TranslateDescriptionsBulkAction.class);
+
+    private static final int PROGRESS_POLL_MS = 1000;
+
+    @Resource
+    private TranslationsAiService translationsAiService;
+    @Resource
+    private BulkTranslationService bulkTranslationService;
+    @Resource
+    private NotificationService notificationService;
+    @Resource
+    private I18NService i18nService;
+
+    @Override
+    public ActionResult<Object> perform(final ActionContext<Collection<ProductModel>> ctx) {
+        final Collection<ProductModel> products = ctx.getData();
+        if (CollectionUtils.isEmpty(products)) {
+            return new ActionResult<>(ActionResult.ERROR);
+        }
+
+        try {
+            final Locale locale = i18nService.getCurrentLocale();
+            final BulkTranslationProgress progress = bulkTranslationService.submit(products, locale, getTargetLanguages(locale));
+            showProgressWindow(ctx, progress);
+            return new ActionResult<>(ActionResult.SUCCESS);
+        } catch (final Exception e) {
+            LOG.error("Unexpected error during AI bulk translation", e);
+            notifyUser(ctx, NotificationEvent.Level.FAILURE,
+                    ctx.getLabel("translateDescriptionsBulkAction.failure.unexpected", new String[]{e.getMessage()}));
+            return new ActionResult<>(ActionResult.ERROR);
+        }
+    }
+
+    @Override
+    public boolean canPerform(final ActionContext<Collection<ProductModel>> ctx) {
+        return CollectionUtils.isNotEmpty(ctx.getData()) && translationsAiService.isEnabled();
+    }
+
+    @Override
+    public boolean needsConfirmation(final ActionContext<Collection<ProductModel>> ctx) {
+        return true;
+    }
+
+    @Override
+    public String getConfirmationMessage(final ActionContext<Collection<ProductModel>> ctx) {
+        final int count = ctx.getData() != null ? ctx.getData().size() : 0;
+        if (count == 0) {
+            return ctx.getLabel("translateDescriptionsBulkAction.confirmation", new String[]{"0"});
+        }
+        final Locale locale = i18nService.getCurrentLocale();
+        final TokenEstimate estimate = bulkTranslationService.estimate(ctx.getData(), locale, getTargetLanguages(locale));
+        return ctx.getLabel("translateDescriptionsBulkAction.confirmation.estimate", new String[]{String.valueOf(count),
+                String.valueOf(estimate.getRequests()), String.valueOf(estimate.getTotalTokens())});
+    }
+
+    private List<String> getTargetLanguages(final Locale locale) {
+        return i18nService.getSupportedLocales().stream()
+                .map(Locale::toLanguageTag)
+                .filter(lang -> !lang.equals(locale.toLanguageTag()))
+                .collect(Collectors.toList());
+    }
+
+    private void showProgressWindow(final ActionContext<Collection<ProductModel>> ctx, final BulkTranslationProgress progress) {
+        final Window window = new Window();
+        window.setTitle(ctx.getLabel("translateDescriptionsBulkAction.progress.title"));
+        window.setWidth("480px");
+        window.setHeight("180px");
+        window.setClosable(true);
+        window.setBorder("normal");
+
+        final Vbox box = new Vbox();
+        box.setHflex("1");
+        box.setSpacing("10px");
+        box.setStyle("padding: 12px;");
+
+        final Progressmeter meter = new Progressmeter(0);
+        meter.setHflex("1");
+        box.appendChild(meter);
+        final Label status = new Label();
+        box.appendChild(status);
+
+        final Hbox buttons = new Hbox();
+        buttons.setHflex("1");
+        buttons.setPack("end");
+        final Button cancelBtn = new Button(ctx.getLabel("translateDescriptionsBulkAction.cancel.button.label"));
+        cancelBtn.setStyle("background-color:#1976d2;color:#fff;border:1px solid #1976d2;");
+        buttons.appendChild(cancelBtn);
+        box.appendChild(buttons);
+
+        // server-side timer: progress is pulled on each tick, no server push needed
+        final Timer timer = new Timer(PROGRESS_POLL_MS);
+        timer.setRepeats(true);
+        box.appendChild(timer);
+        window.appendChild(box);
+
+        updateProgress(ctx, progress, meter, status, cancelBtn, timer);
+        timer.addEventListener(Events.ON_TIMER, event -> updateProgress(ctx, progress, meter, status, cancelBtn, timer));
+        cancelBtn.addEventListener(Events.ON_CLICK, event -> {
+            if (progress.getStatus() == BulkTranslationProgress.Status.RUNNING) {
+                bulkTranslationService.cancel(progress.getTaskId());
+                updateProgress(ctx, progress, meter, status, cancelBtn, timer);
+            } else {
+                window.detach();
+            }
+        });
+        // closing the window only hides the progress; the task keeps running
+        window.addEventListener(Events.ON_CLOSE, event -> timer.stop());
+
+        final Desktop desktop = Executions.getCurrent() != null ? Executions.getCurrent().getDesktop() : null;
+        if (desktop != null && desktop.getFirstPage() != null) {
+            window.setPage(desktop.getFirstPage());
+            window.doModal();
+        } else {
+            LOG.warn("Cannot open progress dialog: no current ZK desktop/page available");
+        }
+    }
+
+    private void updateProgress(final ActionContext<Collection<ProductModel>> ctx, final BulkTranslationProgress progress,
+                                final Progressmeter meter, final Label status, final Button cancelBtn, final Timer timer) {
+        final int total = Math.max(1, progress.getTotal());
+        meter.setValue(Math.min(100, progress.getProcessed() * 100 / total));
+        status.setValue(ctx.getLabel("translateDescriptionsBulkAction.progress.status", new String[]{
+                String.valueOf(progress.getProcessed()), String.valueOf(progress.getTotal()), String.valueOf(progress.getFailed())}));
+
+        if (progress.getStatus() == BulkTranslationProgress.Status.RUNNING) {
+            return;
+        }
+        timer.stop();
+        cancelBtn.setLabel(ctx.getLabel("translateDescriptionsBulkAction.close.button.label"));
+        if (progress.getStatus() == BulkTranslationProgress.Status.CANCELLED) {
+            notifyUser(ctx, NotificationEvent.Level.INFO,
+                    ctx.getLabel("translateDescriptionsBulkAction.cancelled", new String[]{String.valueOf(progress.getProcessed())}));
+        } else {
+            notifyUser(ctx, progress.getFailed() == 0 ? NotificationEvent.Level.SUCCESS : NotificationEvent.Level.WARNING,
+                    ctx.getLabel("translateDescriptionsBulkAction.success", new String[]{
+                            String.valueOf(progress.getTranslated()), String.valueOf(progress.getFailed())}));
+        }
+    }
+
+    private void notifyUser(final ActionContext<Collection<ProductModel>> ctx, final NotificationEvent.Level level, final String message) {
+        notificationService.notifyUser(
+                notificationService.getWidgetNotificationSource(ctx),
+                TranslationsaiConstants.NOTIFICATION_TYPE,
+                level,
+                message);
+    }
+}
@@ -3,22 +3,223 @@
  */
 package com.translations.widgets;
 
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+
+import java.text.DateFormat;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.configuration.Configuration;
 import org.zkoss.zk.ui.Component;
+import org.zkoss.zk.ui.event.Events;
+import org.zkoss.zk.ui.select.annotation.Wire;
 import org.zkoss.zk.ui.select.annotation.WireVariable;
+import org.zkoss.zul.Button;
+import org.zkoss.zul.Column;
 import org.zkoss.zul.Label;
+import org.zkoss.zul.Row;
+import org.zkoss.zul.Rows;
 
+import com.hybris.cockpitng.annotations.ViewEvent;
 import com.hybris.cockpitng.util.DefaultWidgetController;
+import com.translations.ai.concurrent.AdaptiveConcurrencyLimiter;
+import com.translations.ai.concurrent.TranslationPriority;
+import com.translations.ai.concurrent.TranslationScheduler;
+import com.translations.ai.dto.bulk.BulkTranslationProgress;
+import com.translations.ai.metrics.AiUsageStatistics;
+import com.translations.ai.metrics.QueueWaitStatistics;
+import com.translations.ai.service.BulkTranslationService;
+import com.translations.ai.service.TokenBudgetService;
+import com.translations.ai.service.TranslationQueueService;
+import com.translations.ai.service.TranslationWriter;
 
 
-
+/**
+ * Operations dashboard of the AI translation pipeline on this node: requests in flight and waiting, latency
+ * percentiles, token usage and estimated spend, prompt cache and unchanged-translation rates, overload protection and
+ * the progress of bulk tasks. A server-side timer refreshes the statistics; the pause button holds back event-driven
+ * and bulk requests in the {@link TranslationScheduler} while interactive requests continue.
+ */
 public class TranslationsaiController extends DefaultWidgetController
 {
 	private static final long serialVersionUID = 1L;
-	private Label label;
+
+	private static final String CONFIG_PRICE_INPUT = "translationsai.pricing.input";
+	private static final String CONFIG_PRICE_CACHED_INPUT = "translationsai.pricing.cachedInput";
+	private static final String CONFIG_PRICE_OUTPUT = "translationsai.pricing.output";
+
+	/**
+	 * Prices of the default model gpt-4o-mini in USD per million tokens.
+	 */
+	private static final double DEFAULT_PRICE_INPUT = 0.15d;
+	private static final double DEFAULT_PRICE_CACHED_INPUT = 0.075d;
+	private static final double DEFAULT_PRICE_OUTPUT = 0.60d;
+
+	/**
+	 * Number of characters of the task id shown, enough to tell tasks apart.
+	 */
+	private static final int TASK_ID_LENGTH = 8;
+
+	@Wire
+	private Label backgroundStatus;
+	@Wire
+	private Button pauseButton;
+	@Wire
+	private Rows statisticsRows;
+	@Wire
+	private Label bulkTasksTitle;
+	@Wire
+	private Column taskColumn;
+	@Wire
+	private Column statusColumn;
+	@Wire
+	private Column progressColumn;
+	@Wire
+	private Column startedColumn;
+	@Wire
+	private Rows bulkTaskRows;
+
+	@WireVariable
+	private transient TranslationScheduler translationScheduler;
+	@WireVariable
+	private transient AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+	@WireVariable
+	private transient QueueWaitStatistics queueWaitStatistics;
+	@WireVariable
+	private transient AiUsageStatistics aiUsageStatistics;
+	@WireVariable
+	private transient TokenBudgetService tokenBudgetService;
+	@WireVariable
+	private transient TranslationWriter translationWriter;
+	@WireVariable
+	private transient TranslationQueueService translationQueueService;
+	@WireVariable
+	private transient BulkTranslationService bulkTranslationService;
+	@WireVariable
+	private transient ConfigurationService configurationService;
 
 	@Override
 	public void initialize(final Component comp)
 	{
 		super.initialize(comp);
+		bulkTasksTitle.setValue(getLabel("translationsai.bulk.title"));
+		taskColumn.setLabel(getLabel("translationsai.bulk.task"));
+		statusColumn.setLabel(getLabel("translationsai.bulk.status"));
+		progressColumn.setLabel(getLabel("translationsai.bulk.progress"));
+		startedColumn.setLabel(getLabel("translationsai.bulk.started"));
+		refresh();
+	}
+
+	@ViewEvent(componentID = "refreshTimer", eventName = Events.ON_TIMER)
+	public void refresh()
+	{
+		final boolean paused = translationScheduler.isBackgroundPaused();
+		backgroundStatus.setValue(getLabel(paused ? "translationsai.background.paused" : "translationsai.background.running"));
+		pauseButton.setLabel(getLabel(paused ? "translationsai.background.resume" : "translationsai.background.pause"));
+
+		statisticsRows.getChildren().clear();
+		addRequestRows();
+		addTokenRows();
+		addProcessingRows();
+
+		bulkTaskRows.getChildren().clear();
+		addBulkTaskRows(bulkTranslationService.getTasks());
+	}
+
+	@ViewEvent(componentID = "pauseButton", eventName = Events.ON_CLICK)
+	public void togglePause()
+	{
+		translationScheduler.setBackgroundPaused(!translationScheduler.isBackgroundPaused());
+		refresh();
+	}
+
+	private void addRequestRows()
+	{
+		addRow(statisticsRows, "translationsai.stats.inFlight", translationScheduler.getRunning(),
+				translationScheduler.getMaxConcurrency());
+		addRow(statisticsRows, "translationsai.stats.queued", translationScheduler.getQueued(TranslationPriority.INTERACTIVE),
+				translationScheduler.getQueued(TranslationPriority.EVENT), translationScheduler.getQueued(TranslationPriority.BULK));
+		addRow(statisticsRows, "translationsai.stats.queueWait",
+				Math.round(queueWaitStatistics.getAverageWaitMs(TranslationPriority.INTERACTIVE)),
+				queueWaitStatistics.getMaxWaitMs(TranslationPriority.INTERACTIVE),
+				Math.round(queueWaitStatistics.getAverageWaitMs(TranslationPriority.EVENT)),
+				queueWaitStatistics.getMaxWaitMs(TranslationPriority.EVENT),
+				Math.round(queueWaitStatistics.getAverageWaitMs(TranslationPriority.BULK)),
+				queueWaitStatistics.getMaxWaitMs(TranslationPriority.BULK));
+		addRow(statisticsRows, "translationsai.stats.latency", aiUsageStatistics.getLatencyPercentile(50),
+				aiUsageStatistics.getLatencyPercentile(90), aiUsageStatistics.getLatencyPercentile(99));
+		addRow(statisticsRows, "translationsai.stats.requests", aiUsageStatistics.getRequests(),
+				aiUsageStatistics.getFailedRequests(), aiUsageStatistics.getOverloads());
+		addRow(statisticsRows, "translationsai.stats.overload", adaptiveConcurrencyLimiter.getLimit(),
+				translationScheduler.getMaxConcurrency(), String.format("%.2f", adaptiveConcurrencyLimiter.getBaselineMsPerToken()));
+	}
+
+	private void addTokenRows()
+	{
+		final Configuration config = configurationService.getConfiguration();
+		final double cost = aiUsageStatistics.getCost(config.getDouble(CONFIG_PRICE_INPUT, DEFAULT_PRICE_INPUT),
+				config.getDouble(CONFIG_PRICE_CACHED_INPUT, DEFAULT_PRICE_CACHED_INPUT),
+				config.getDouble(CONFIG_PRICE_OUTPUT, DEFAULT_PRICE_OUTPUT));
+
+		addRow(statisticsRows, "translationsai.stats.tokens", aiUsageStatistics.getPromptTokens(),
+				aiUsageStatistics.getCachedPromptTokens(), aiUsageStatistics.getCompletionTokens(), tokenBudgetService.getDailyTokens());
+		addRow(statisticsRows, "translationsai.stats.spend", String.format("%.4f", cost));
+		addRow(statisticsRows, "translationsai.stats.promptCache", percent(aiUsageStatistics.getPromptCacheHitRate()));
+	}
+
+	private void addProcessingRows()
+	{
+		final long written = translationWriter.getWrittenCount();
+		final long skipped = translationWriter.getSkippedCount();
+		addRow(statisticsRows, "translationsai.stats.unchanged",
+				percent(written + skipped == 0 ? 0d : (double) skipped / (written + skipped)), written, skipped,
+				translationWriter.getFailedCount(), translationWriter.getBufferedCount());
+
+		if (translationQueueService.isEnabled())
+		{
+			addRow(statisticsRows, "translationsai.stats.queue", translationQueueService.countOpenEntries());
+		}
+		else
+		{
+			addRow(statisticsRows, "translationsai.stats.queue.disabled");
+		}
+	}
+
+	private void addBulkTaskRows(final List<BulkTranslationProgress> tasks)
+	{
+		if (tasks.isEmpty())
+		{
+			final Row row = new Row();
+			row.appendChild(new Label(getLabel("translationsai.bulk.none")));
+			bulkTaskRows.appendChild(row);
+			return;
+		}
+		final DateFormat format = DateFormat.getTimeInstance(DateFormat.MEDIUM);
+		for (final BulkTranslationProgress task : tasks)
+		{
+			final Row row = new Row();
+			row.appendChild(new Label(task.getTaskId().substring(0, Math.min(TASK_ID_LENGTH, task.getTaskId().length()))));
+			row.appendChild(new Label(task.getStatus().name()));
+			row.appendChild(new Label(getLabel("translationsai.bulk.progress.value", new Object[]
+			{ task.getProcessed(), task.getTotal(), task.getFailed() })));
+			row.appendChild(new Label(format.format(new Date(task.getStartedAt()))));
+			bulkTaskRows.appendChild(row);
+		}
+	}
+
+	/**
+	 * Append a row with the label of the key and its value label {@code key + ".value"} formatted with the arguments.
+	 */
+	private void addRow(final Rows rows, final String key, final Object... args)
+	{
+		final Row row = new Row();
+		row.appendChild(new Label(getLabel(key)));
+		row.appendChild(new Label(getLabel(key + ".value", args)));
+		rows.appendChild(row);
+	}
+
+	private static String percent(final double rate)
+	{
+		return String.format("%.1f %%", rate * 100);
 	}
 }
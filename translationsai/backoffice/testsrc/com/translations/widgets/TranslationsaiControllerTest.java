@@ -0,0 +1,144 @@
+package com.translations.widgets;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.zkoss.zk.ui.Component;
+import org.zkoss.zul.Button;
+import org.zkoss.zul.Label;
+import org.zkoss.zul.Rows;
+
+import com.hybris.cockpitng.engine.WidgetInstanceManager;
+import com.translations.ai.concurrent.AdaptiveConcurrencyLimiter;
+import com.translations.ai.concurrent.TranslationScheduler;
+import com.translations.ai.dto.bulk.BulkTranslationProgress;
+import com.translations.ai.metrics.AiUsageStatistics;
+import com.translations.ai.metrics.QueueWaitStatistics;
+import com.translations.ai.service.BulkTranslationService;
+import com.translations.ai.service.TokenBudgetService;
+import com.translations.ai.service.TranslationQueueService;
+import com.translations.ai.service.TranslationWriter;
+
+
+/**
+ * Bulk task rows and the background pause switch. Labels resolve to their key, followed by the arguments if any.
+ */
+@UnitTest
+public class TranslationsaiControllerTest
+{
+	private final TranslationScheduler translationScheduler = mock(TranslationScheduler.class);
+	private final BulkTranslationService bulkTranslationService = mock(BulkTranslationService.class);
+	private final Label backgroundStatus = new Label();
+	private final Button pauseButton = new Button();
+	private final Rows statisticsRows = new Rows();
+	private final Rows bulkTaskRows = new Rows();
+
+	private TranslationsaiController controller;
+
+	@Before
+	public void setUp()
+	{
+		final ConfigurationService configurationService = mock(ConfigurationService.class);
+		when(configurationService.getConfiguration()).thenReturn(new BaseConfiguration());
+		final WidgetInstanceManager widgetInstanceManager = mock(WidgetInstanceManager.class);
+		when(widgetInstanceManager.getLabel(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(widgetInstanceManager.getLabel(anyString(), any(Object[].class))).thenAnswer(
+				invocation -> invocation.getArgument(0) + Arrays.toString(invocation.<Object[]> getArgument(1)));
+
+		controller = spy(new TranslationsaiController());
+		doReturn(widgetInstanceManager).when(controller).getWidgetInstanceManager();
+		ReflectionTestUtils.setField(controller, "backgroundStatus", backgroundStatus);
+		ReflectionTestUtils.setField(controller, "pauseButton", pauseButton);
+		ReflectionTestUtils.setField(controller, "statisticsRows", statisticsRows);
+		ReflectionTestUtils.setField(controller, "bulkTaskRows", bulkTaskRows);
+		ReflectionTestUtils.setField(controller, "translationScheduler", translationScheduler);
+		ReflectionTestUtils.setField(controller, "adaptiveConcurrencyLimiter", mock(AdaptiveConcurrencyLimiter.class));
+		ReflectionTestUtils.setField(controller, "queueWaitStatistics", mock(QueueWaitStatistics.class));
+		ReflectionTestUtils.setField(controller, "aiUsageStatistics", mock(AiUsageStatistics.class));
+		ReflectionTestUtils.setField(controller, "tokenBudgetService", mock(TokenBudgetService.class));
+		ReflectionTestUtils.setField(controller, "translationWriter", mock(TranslationWriter.class));
+		ReflectionTestUtils.setField(controller, "translationQueueService", mock(TranslationQueueService.class));
+		ReflectionTestUtils.setField(controller, "bulkTranslationService", bulkTranslationService);
+		ReflectionTestUtils.setField(controller, "configurationService", configurationService);
+	}
+
+	@Test
+	public void showsTheProgressOfEveryBulkTask()
+	{
+		final BulkTranslationProgress running = new BulkTranslationProgress("0f3c9a2e-5b71-4c1d", 40);
+		running.addTranslated(12);
+		running.addFailed(3);
+		final BulkTranslationProgress cancelled = new BulkTranslationProgress("7d2e", 5);
+		cancelled.finish(BulkTranslationProgress.Status.CANCELLED);
+		when(bulkTranslationService.getTasks()).thenReturn(Arrays.asList(running, cancelled));
+
+		controller.refresh();
+
+		assertEquals(2, bulkTaskRows.getChildren().size());
+		assertEquals(Arrays.asList("0f3c9a2e", "RUNNING", "translationsai.bulk.progress.value[15, 40, 3]"),
+				labels(bulkTaskRows.getChildren().get(0)).subList(0, 3));
+		assertEquals(Arrays.asList("7d2e", "CANCELLED", "translationsai.bulk.progress.value[0, 5, 0]"),
+				labels(bulkTaskRows.getChildren().get(1)).subList(0, 3));
+	}
+
+	@Test
+	public void showsAPlaceholderWithoutBulkTasks()
+	{
+		when(bulkTranslationService.getTasks()).thenReturn(Collections.emptyList());
+
+		controller.refresh();
+		controller.refresh();
+
+		assertEquals(1, bulkTaskRows.getChildren().size());
+		assertEquals(Collections.singletonList("translationsai.bulk.none"), labels(bulkTaskRows.getChildren().get(0)));
+	}
+
+	@Test
+	public void pausesTheBackgroundProcessing()
+	{
+		when(bulkTranslationService.getTasks()).thenReturn(Collections.emptyList());
+		when(translationScheduler.isBackgroundPaused()).thenReturn(false, true);
+
+		controller.togglePause();
+
+		verify(translationScheduler).setBackgroundPaused(true);
+		assertEquals("translationsai.background.paused", backgroundStatus.getValue());
+		assertEquals("translationsai.background.resume", pauseButton.getLabel());
+	}
+
+	@Test
+	public void resumesTheBackgroundProcessing()
+	{
+		when(bulkTranslationService.getTasks()).thenReturn(Collections.emptyList());
+		when(translationScheduler.isBackgroundPaused()).thenReturn(true, false);
+
+		controller.togglePause();
+
+		verify(translationScheduler).setBackgroundPaused(false);
+		assertEquals("translationsai.background.running", backgroundStatus.getValue());
+		assertEquals("translationsai.background.pause", pauseButton.getLabel());
+	}
+
+	private static List<String> labels(final Component row)
+	{
+		return row.getChildren().stream().map(label -> ((Label) label).getValue()).collect(Collectors.toList());
+	}
+}
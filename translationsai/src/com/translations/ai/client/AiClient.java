@@ -1,6 +1,9 @@
 package com.translations.ai.client;
 
 import com.translations.ai.dto.options.AiClientOptions;
+import com.translations.ai.dto.request.Prompt;
+import com.translations.ai.dto.response.AttributeTranslationsResponse;
+import com.translations.ai.dto.response.ProductTranslationsResponse;
 import com.translations.ai.dto.response.Translation;
 import com.translations.ai.exception.AiClientException;
 
@@ -8,7 +11,7 @@ import java.util.List;
 
 /**
  * Interface for AI client implementations (OpenAI, Azure OpenAI, etc.).
- * Implementations should accept a natural-language prompt and return a structured list
+ * Implementations should accept a natural-language prompt (static system part + variable user part) and return a structured list
  * of language-tagged description suggestions.
  */
 public interface AiClient {
@@ -20,5 +23,25 @@ public interface AiClient {
      * @return a list of language-tagged suggestions (lang + description)
      * @throws AiClientException if the AI call fails
      */
-    List<Translation> translate(String prompt, AiClientOptions options) throws AiClientException;
+    List<Translation> translate(Prompt prompt, AiClientOptions options) throws AiClientException;
+
+    /**
+     * Invoke the AI using a prompt that packs the descriptions of several products.
+     *
+     * @param prompt  the packed prompt to send to the AI
+     * @param options configuration options for the AI call (model, timeout)
+     * @return the language-tagged suggestions per product, tagged with the product identifiers used in the prompt
+     * @throws AiClientException if the AI call fails
+     */
+    List<ProductTranslationsResponse> translatePacked(Prompt prompt, AiClientOptions options) throws AiClientException;
+
+    /**
+     * Invoke the AI using a prompt that holds several localized attributes of one product.
+     *
+     * @param prompt  the multi-attribute prompt to send to the AI
+     * @param options configuration options for the AI call (model, timeout)
+     * @return the language-tagged suggestions per attribute, tagged with the attribute qualifiers used in the prompt
+     * @throws AiClientException if the AI call fails
+     */
+    List<AttributeTranslationsResponse> translateAttributes(Prompt prompt, AiClientOptions options) throws AiClientException;
 }
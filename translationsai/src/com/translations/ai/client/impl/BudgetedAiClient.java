@@ -0,0 +1,85 @@
+package com.translations.ai.client.impl;
+
+import com.translations.ai.client.AiClient;
+import com.translations.ai.concurrent.TranslationScheduler;
+import com.translations.ai.dto.options.AiClientOptions;
+import com.translations.ai.dto.request.Prompt;
+import com.translations.ai.dto.request.TokenEstimate;
+import com.translations.ai.dto.response.AttributeTranslationsResponse;
+import com.translations.ai.dto.response.ProductTranslationsResponse;
+import com.translations.ai.dto.response.Translation;
+import com.translations.ai.exception.AiClientException;
+import com.translations.ai.metrics.AiUsageStatistics;
+import com.translations.ai.service.TokenBudgetService;
+import com.translations.ai.util.TokenEstimator;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * {@link AiClient} decorator that estimates every request with the local tokenizer ({@link TokenEstimator}) and
+ * rejects it before it is sent if it would exceed a token budget of the {@link TokenBudgetService}. The job of a
+ * request is the owner declared on the calling thread with {@link TranslationScheduler#callAs}.
+ * <p>
+ * When the request finished, the reserved estimate is replaced with the usage the provider reported
+ * ({@link AiUsageStatistics#takeLastUsage()}); requests that failed or were cancelled before an answer are refunded.
+ */
+public class BudgetedAiClient implements AiClient {
+
+    private AiClient delegate;
+    private TokenBudgetService tokenBudgetService;
+    private TranslationScheduler translationScheduler;
+    private AiUsageStatistics usageStatistics;
+
+    @Override
+    public List<Translation> translate(final Prompt prompt, final AiClientOptions options) throws AiClientException {
+        return request(prompt, options, () -> delegate.translate(prompt, options));
+    }
+
+    @Override
+    public List<ProductTranslationsResponse> translatePacked(final Prompt prompt, final AiClientOptions options) throws AiClientException {
+        return request(prompt, options, () -> delegate.translatePacked(prompt, options));
+    }
+
+    @Override
+    public List<AttributeTranslationsResponse> translateAttributes(final Prompt prompt, final AiClientOptions options)
+            throws AiClientException {
+        return request(prompt, options, () -> delegate.translateAttributes(prompt, options));
+    }
+
+    private <T> T request(final Prompt prompt, final AiClientOptions options, final Supplier<T> request) {
+        final String job = translationScheduler.getCurrentOwner();
+        final TokenEstimate estimate = TokenEstimator.estimate(prompt, options.getModel());
+        tokenBudgetService.reserve(estimate, job);
+        // drop usage left on this thread by a request that was not sent through this client
+        usageStatistics.takeLastUsage();
+        boolean answered = false;
+        try {
+            final T result = request.get();
+            answered = true;
+            return result;
+        } finally {
+            final TokenEstimate used = usageStatistics.takeLastUsage();
+            if (used != null || !answered) {
+                tokenBudgetService.settle(estimate, used, job);
+            }
+            // an answer without reported usage keeps the estimate
+        }
+    }
+
+    public void setDelegate(final AiClient delegate) {
+        this.delegate = delegate;
+    }
+
+    public void setTokenBudgetService(final TokenBudgetService tokenBudgetService) {
+        this.tokenBudgetService = tokenBudgetService;
+    }
+
+    public void setTranslationScheduler(final TranslationScheduler translationScheduler) {
+        this.translationScheduler = translationScheduler;
+    }
+
+    public void setUsageStatistics(final AiUsageStatistics usageStatistics) {
+        this.usageStatistics = usageStatistics;
+    }
+}
@@ -2,67 +2,225 @@ package com.translations.ai.client.impl;
 
 import com.openai.client.OpenAIClient;
 import com.openai.client.okhttp.OpenAIOkHttpClient;
+import com.openai.core.RequestOptions;
+import com.openai.errors.InternalServerException;
+import com.openai.errors.OpenAIIoException;
+import com.openai.errors.RateLimitException;
+import com.openai.models.chat.completions.ChatCompletion;
 import com.openai.models.chat.completions.ChatCompletionCreateParams;
+import com.openai.models.chat.completions.ChatCompletionMessage;
+import com.openai.models.chat.completions.StructuredChatCompletion;
 import com.openai.models.chat.completions.StructuredChatCompletionCreateParams;
+import com.openai.models.completions.CompletionUsage;
 import org.apache.log4j.Logger;
 import com.translations.ai.client.AiClient;
 import com.translations.ai.dto.options.AiClientOptions;
+import com.translations.ai.dto.request.Prompt;
+import com.translations.ai.dto.response.AttributeTranslationsResponse;
+import com.translations.ai.dto.response.AttributesTranslationsResponse;
+import com.translations.ai.dto.response.PackedTranslationsResponse;
+import com.translations.ai.dto.response.ProductTranslationsResponse;
 import com.translations.ai.dto.response.Translation;
 import com.translations.ai.dto.response.TranslationsResponse;
 import com.translations.ai.exception.AiClientException;
+import com.translations.ai.exception.AiOverloadException;
+import com.translations.ai.metrics.AiUsageStatistics;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * OpenAI client implementation using the OpenAI Java SDK (Chat Completions) with structured responses.
  * <p>
  * The SDK is configured to map the assistant response directly into a
- * {@link TranslationsResponse} via responseFormat.
+ * {@link TranslationsResponse} (or {@link PackedTranslationsResponse} for multi-product prompts,
+ * {@link AttributesTranslationsResponse} for multi-attribute prompts) via responseFormat.
+ * The static system part of the {@link Prompt} is sent as system message and the variable user part as user message;
+ * cached prompt token counts reported by the provider are recorded in {@link AiUsageStatistics}.
+ * Rate limits, server errors and I/O failures (including timeouts) are reported as {@link AiOverloadException}.
+ * The SDK client is built once and shared, so connections and TLS sessions are reused across requests; the timeout of
+ * the {@link AiClientOptions} is applied per request. See {@link #warmUp(AiClientOptions, boolean)} to prepare the
+ * client before the first request.
  * The API key is injected via the {@link #setApiKey(String)} setter (e.g., from Spring properties),
  * not via environment variables.
  */
 public class OpenAiClient implements AiClient {
     private static final Logger LOG = Logger.getLogger(OpenAiClient.class);
 
+    private static final List<Class<?>> RESPONSE_TYPES =
+            Arrays.asList(TranslationsResponse.class, PackedTranslationsResponse.class, AttributesTranslationsResponse.class);
+    private static final String WARM_UP_RESPONSE =
+            "{\"translations\":[{\"lang\":\"de\",\"description\":\"Aufwärmen {{1}}\"}]}";
+
     private String apiKey;
+    private AiUsageStatistics usageStatistics;
+
+    private OpenAIClient client;
 
     @Override
-    public List<Translation> translate(final String prompt, final AiClientOptions options) throws AiClientException {
-        try {
+    public List<Translation> translate(final Prompt prompt, final AiClientOptions options) throws AiClientException {
+        return complete(prompt, options, TranslationsResponse.class, TranslationsResponse::getTranslations);
+    }
 
-            final OpenAIClient client = OpenAIOkHttpClient.builder()
-                    .apiKey(apiKey)
-                    .timeout(options.getTimeout())
-                    .build();
+    @Override
+    public List<ProductTranslationsResponse> translatePacked(final Prompt prompt, final AiClientOptions options) throws AiClientException {
+        return complete(prompt, options, PackedTranslationsResponse.class, PackedTranslationsResponse::getProducts);
+    }
+
+    @Override
+    public List<AttributeTranslationsResponse> translateAttributes(final Prompt prompt, final AiClientOptions options)
+            throws AiClientException {
+        return complete(prompt, options, AttributesTranslationsResponse.class, AttributesTranslationsResponse::getAttributes);
+    }
+
+    /**
+     * Send the static part of the prompt as system message and the per-request part as user message, and map the
+     * structured reply of the first choice.
+     */
+    private <R, T> T complete(final Prompt prompt, final AiClientOptions options, final Class<R> responseType,
+                              final Function<R, T> mapper) throws AiClientException {
+        final long start = System.currentTimeMillis();
+        try {
 
-            final StructuredChatCompletionCreateParams<TranslationsResponse> params = ChatCompletionCreateParams.builder()
-                    .addUserMessage(prompt)
+            final StructuredChatCompletionCreateParams<R> params = ChatCompletionCreateParams.builder()
+                    .addSystemMessage(prompt.getSystem())
+                    .addUserMessage(prompt.getUser())
                     .model(options.getModel())
-                    .responseFormat(TranslationsResponse.class)
+                    .responseFormat(responseType)
                     .n(1)
                     .build();
 
-            final List<Translation> translations = client
+            final StructuredChatCompletion<R> completion = getClient()
                     .chat()
                     .completions()
-                    .create(params)
-                    .choices()
-                    .stream()
-                    .findFirst() // get the first (and only) choice
-                    .flatMap(choice -> choice.message().content()) // Optional<List<ResponseContent>>
-                    .map(TranslationsResponse::getTranslations)
-                    .orElseThrow(() -> new AiClientException("OpenAI returned no translations"));
+                    .create(params, buildRequestOptions(options.getTimeout()));
+            completion.usage().ifPresent(this::recordUsage);
+            usageStatistics.recordLatency(System.currentTimeMillis() - start);
 
-            return translations;
+            return map(completion, mapper);
 
+        } catch (final RateLimitException | InternalServerException | OpenAIIoException e) {
+            usageStatistics.recordOverload();
+            LOG.warn("OpenAI is overloaded: " + e.getMessage());
+            throw new AiOverloadException("OpenAI overloaded", e);
         } catch (final Exception e) {
+            usageStatistics.recordFailure();
             LOG.error("Error calling OpenAI via SDK", e);
             throw new AiClientException("OpenAI SDK error", e);
         }
     }
 
+    private static <R, T> T map(final StructuredChatCompletion<R> completion, final Function<R, T> mapper) {
+        return completion
+                .choices()
+                .stream()
+                .findFirst() // get the first (and only) choice
+                .flatMap(choice -> choice.message().content()) // Optional<R>
+                .map(mapper)
+                .orElseThrow(() -> new AiClientException("OpenAI returned no translations"));
+    }
+
+    /**
+     * Prepare everything the first request would otherwise do on demand: build the SDK client, derive the JSON schemas
+     * of all structured response types and map a local mock reply through the SDK's deserialization. With
+     * {@code connect}, the model is also looked up once (no tokens are used), which resolves the API host and leaves
+     * an established TLS connection in the client's pool.
+     *
+     * @param options model and timeout of the later requests
+     * @param connect whether to open a connection to the API
+     * @throws AiClientException if the API cannot be reached
+     */
+    public void warmUp(final AiClientOptions options, final boolean connect) throws AiClientException {
+        final OpenAIClient openAi = getClient();
+        for (final Class<?> responseType : RESPONSE_TYPES) {
+            ChatCompletionCreateParams.builder()
+                    .addSystemMessage("warm-up")
+                    .addUserMessage("warm-up")
+                    .model(options.getModel())
+                    .responseFormat(responseType)
+                    .build();
+        }
+        map(new StructuredChatCompletion<>(TranslationsResponse.class, buildMockCompletion(options.getModel())),
+                TranslationsResponse::getTranslations);
+
+        if (connect) {
+            final long start = System.currentTimeMillis();
+            try {
+                openAi.models().retrieve(options.getModel(), buildRequestOptions(options.getTimeout()));
+            } catch (final Exception e) {
+                throw new AiClientException("OpenAI is not reachable", e);
+            }
+            LOG.info("Connected to OpenAI in " + (System.currentTimeMillis() - start) + " ms");
+        }
+    }
+
+    private static ChatCompletion buildMockCompletion(final String model) {
+        return ChatCompletion.builder()
+                .id("warm-up")
+                .created(0L)
+                .model(model)
+                .addChoice(ChatCompletion.Choice.builder()
+                        .index(0L)
+                        .finishReason(ChatCompletion.Choice.FinishReason.STOP)
+                        .logprobs(Optional.empty())
+                        .message(ChatCompletionMessage.builder()
+                                .content(WARM_UP_RESPONSE)
+                                .refusal(Optional.empty())
+                                .build())
+                        .build())
+                .build();
+    }
+
+    /**
+     * The SDK client holds the HTTP connection pool and its threads, so it is built once and shared by all requests.
+     */
+    private synchronized OpenAIClient getClient() {
+        if (client == null) {
+            client = OpenAIOkHttpClient.builder()
+                    .apiKey(apiKey)
+                    .build();
+        }
+        return client;
+    }
+
+    /**
+     * The timeout is set per request, so a changed {@code translationsai.timeout.ms} applies without a new client.
+     */
+    private static RequestOptions buildRequestOptions(final Duration timeout) {
+        return RequestOptions.builder()
+                .timeout(timeout)
+                .build();
+    }
+
+    /**
+     * Release the connection pool of the SDK client.
+     */
+    public synchronized void destroy() {
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+    }
+
+    private void recordUsage(final CompletionUsage usage) {
+        final long cached = usage.promptTokensDetails()
+                .flatMap(CompletionUsage.PromptTokensDetails::cachedTokens)
+                .orElse(0L);
+        usageStatistics.recordUsage(usage.promptTokens(), cached, usage.completionTokens());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("OpenAI usage: prompt=" + usage.promptTokens() + " (cached=" + cached + "), completion=" + usage.completionTokens());
+        }
+    }
+
     public void setApiKey(final String apiKey) {
         this.apiKey = apiKey;
     }
 
+    public void setUsageStatistics(final AiUsageStatistics usageStatistics) {
+        this.usageStatistics = usageStatistics;
+    }
+
 }
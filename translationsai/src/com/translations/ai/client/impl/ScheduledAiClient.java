@@ -0,0 +1,69 @@
+package com.translations.ai.client.impl;
+
+import de.hybris.platform.servicelayer.user.UserService;
+import com.translations.ai.client.AiClient;
+import com.translations.ai.concurrent.TranslationPriority;
+import com.translations.ai.concurrent.TranslationScheduler;
+import com.translations.ai.dto.options.AiClientOptions;
+import com.translations.ai.dto.request.Prompt;
+import com.translations.ai.dto.response.AttributeTranslationsResponse;
+import com.translations.ai.dto.response.ProductTranslationsResponse;
+import com.translations.ai.dto.response.Translation;
+import com.translations.ai.exception.AiClientException;
+import com.translations.ai.util.TokenEstimator;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * {@link AiClient} decorator that admits every request through the {@link TranslationScheduler}.
+ * <p>
+ * The priority class and owner are the ones declared by the calling thread; requests without a declaration come from
+ * a user in the backoffice and are scheduled as {@link TranslationPriority#INTERACTIVE} for the session user.
+ * The expected output tokens of each request are passed along, so its latency can be compared with requests of
+ * other sizes.
+ */
+public class ScheduledAiClient implements AiClient {
+
+    private AiClient delegate;
+    private TranslationScheduler translationScheduler;
+    private UserService userService;
+
+    @Override
+    public List<Translation> translate(final Prompt prompt, final AiClientOptions options) throws AiClientException {
+        return schedule(prompt, options, () -> delegate.translate(prompt, options));
+    }
+
+    @Override
+    public List<ProductTranslationsResponse> translatePacked(final Prompt prompt, final AiClientOptions options) throws AiClientException {
+        return schedule(prompt, options, () -> delegate.translatePacked(prompt, options));
+    }
+
+    @Override
+    public List<AttributeTranslationsResponse> translateAttributes(final Prompt prompt, final AiClientOptions options)
+            throws AiClientException {
+        return schedule(prompt, options, () -> delegate.translateAttributes(prompt, options));
+    }
+
+    private <T> T schedule(final Prompt prompt, final AiClientOptions options, final Supplier<T> request) {
+        final long expectedTokens = TokenEstimator.estimate(prompt, options.getModel()).getCompletionTokens();
+        final TranslationPriority priority = translationScheduler.getCurrentPriority();
+        if (priority != null) {
+            return translationScheduler.execute(priority, translationScheduler.getCurrentOwner(), expectedTokens, request);
+        }
+        return translationScheduler.execute(TranslationPriority.INTERACTIVE, userService.getCurrentUser().getUid(), expectedTokens,
+                request);
+    }
+
+    public void setDelegate(final AiClient delegate) {
+        this.delegate = delegate;
+    }
+
+    public void setTranslationScheduler(final TranslationScheduler translationScheduler) {
+        this.translationScheduler = translationScheduler;
+    }
+
+    public void setUserService(final UserService userService) {
+        this.userService = userService;
+    }
+}
@@ -0,0 +1,141 @@
+package com.translations.ai.concurrent;
+
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.translations.ai.exception.AiOverloadException;
+
+/**
+ * Adaptive limit of concurrently running event-driven and bulk AI requests, tuned from observed latency and errors
+ * (gradient algorithm with multiplicative decrease on overload).
+ * <p>
+ * Latency is sampled per expected output token, since a packed request naturally takes longer than a single one. A
+ * long-term average of the samples serves as the baseline; every {@code translationsai.limiter.window} samples the
+ * limit moves towards {@code limit * min(1, baseline / recent) + sqrt(limit)}, so it grows while recent latency stays
+ * at the baseline and shrinks as queuing at the provider raises it. Rate limits, server errors and timeouts
+ * ({@link AiOverloadException}) cut the limit by {@code translationsai.limiter.backoffRatio} at once, but only once per
+ * round trip: overloads of requests admitted before the last cut were caused by the old limit and are ignored, so a
+ * burst of concurrent failures does not collapse the limit. The limit only grows while it is actually used, so an idle
+ * node does not inflate it.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private static final String CONFIG_ENABLED = "translationsai.limiter.enabled";
+    private static final String CONFIG_INITIAL_LIMIT = "translationsai.limiter.initialLimit";
+    private static final String CONFIG_MIN_LIMIT = "translationsai.limiter.minLimit";
+    private static final String CONFIG_MAX_LIMIT = "translationsai.limiter.maxLimit";
+    private static final String CONFIG_WINDOW = "translationsai.limiter.window";
+    private static final String CONFIG_BACKOFF_RATIO = "translationsai.limiter.backoffRatio";
+
+    /**
+     * Samples averaged into the baseline.
+     */
+    private static final int BASELINE_SAMPLES = 100;
+    /**
+     * Output-independent part of the latency (time to first token), expressed in tokens.
+     */
+    private static final int FIXED_TOKENS = 100;
+    /**
+     * Share of the new target applied per window, to damp oscillation.
+     */
+    private static final double SMOOTHING = 0.2;
+
+    private ConfigurationService configurationService;
+
+    private boolean enabled;
+    private int minLimit;
+    private int maxLimit;
+    private int window;
+    private double backoffRatio;
+
+    private double limit;
+    private double baseline;
+    private double windowSum;
+    private int windowCount;
+    private int windowMaxInFlight;
+    private long lastDecreaseNanos;
+    private volatile int currentLimit;
+
+    public void init() {
+        enabled = configurationService.getConfiguration().getBoolean(CONFIG_ENABLED, true);
+        minLimit = Math.max(1, configurationService.getConfiguration().getInt(CONFIG_MIN_LIMIT, 1));
+        maxLimit = Math.max(minLimit, configurationService.getConfiguration().getInt(CONFIG_MAX_LIMIT, 8));
+        window = Math.max(1, configurationService.getConfiguration().getInt(CONFIG_WINDOW, 5));
+        backoffRatio = configurationService.getConfiguration().getDouble(CONFIG_BACKOFF_RATIO, 0.7d);
+        limit = Math.max(minLimit, Math.min(maxLimit, configurationService.getConfiguration().getInt(CONFIG_INITIAL_LIMIT, 4)));
+        currentLimit = enabled ? (int) limit : maxLimit;
+        lastDecreaseNanos = System.nanoTime();
+    }
+
+    /**
+     * @return the current number of event-driven and bulk requests allowed to run at the same time
+     */
+    public int getLimit() {
+        return currentLimit;
+    }
+
+    /**
+     * @return the baseline latency per expected output token in milliseconds, 0 before the first sample
+     */
+    public synchronized double getBaselineMsPerToken() {
+        return baseline / 1_000_000d;
+    }
+
+    /**
+     * Record a successful request.
+     *
+     * @param latencyNanos   time from admission to response
+     * @param expectedTokens expected output tokens of the request
+     * @param inFlight       requests running when it was admitted, including itself
+     */
+    public synchronized void onSuccess(final long latencyNanos, final long expectedTokens, final int inFlight) {
+        if (!enabled) {
+            return;
+        }
+        final double sample = latencyNanos / (double) (FIXED_TOKENS + Math.max(0L, expectedTokens));
+        baseline = baseline == 0d ? sample : baseline + (sample - baseline) * 2 / (BASELINE_SAMPLES + 1);
+        windowSum += sample;
+        windowCount++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        if (windowCount < window) {
+            return;
+        }
+
+        final double recent = windowSum / windowCount;
+        final double gradient = Math.max(0.5d, Math.min(1d, baseline / recent));
+        double target = limit * gradient + Math.sqrt(limit);
+        if (target > limit && windowMaxInFlight < limit / 2) {
+            // not limited by the limit, no evidence that more would help
+            target = limit;
+        }
+        update(limit * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    /**
+     * Record a request that failed because the provider is overloaded.
+     *
+     * @param admittedNanos {@link System#nanoTime()} when the request was admitted
+     */
+    public synchronized void onOverload(final long admittedNanos) {
+        if (enabled && admittedNanos - lastDecreaseNanos >= 0) {
+            update(limit * backoffRatio);
+            lastDecreaseNanos = System.nanoTime();
+        }
+    }
+
+    private void update(final double newLimit) {
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        windowSum = 0d;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+        if ((int) limit != currentLimit) {
+            LOG.debug("AI concurrency limit changed from {} to {}", currentLimit, (int) limit);
+            currentLimit = (int) limit;
+        }
+    }
+
+    public void setConfigurationService(final ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+}
@@ -0,0 +1,82 @@
+package com.translations.ai.concurrent;
+
+import de.hybris.platform.core.Registry;
+import de.hybris.platform.core.Tenant;
+import de.hybris.platform.servicelayer.session.Session;
+import de.hybris.platform.servicelayer.session.SessionExecutionBody;
+import de.hybris.platform.servicelayer.session.SessionService;
+import de.hybris.platform.servicelayer.user.UserService;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs work on background threads in a tenant: activates the tenant, opens a fresh session and executes the work
+ * as admin in it. Models must not be shared across threads; pass PKs and load them inside the work instead.
+ */
+public class TenantSessionRunner {
+
+    private SessionService sessionService;
+    private UserService userService;
+
+    /**
+     * @return the tenant of the calling thread, to be handed to {@link #run(Tenant, Supplier)} on other threads
+     */
+    public Tenant currentTenant() {
+        return Registry.getCurrentTenantNoFallback();
+    }
+
+    /**
+     * Execute the work in the given tenant.
+     *
+     * @param tenant the tenant to activate
+     * @param work   the work to execute
+     * @return the result of the work
+     * @throws IllegalStateException if the system of the tenant is not initialized
+     */
+    public <T> T run(final Tenant tenant, final Supplier<T> work) {
+        Registry.setCurrentTenant(tenant);
+        try {
+            if (!tenant.getJaloConnection().isSystemInitialized()) {
+                throw new IllegalStateException("System of tenant " + tenant.getTenantID() + " is not initialized");
+            }
+            final Session session = sessionService.createNewSession();
+            try {
+                return sessionService.executeInLocalView(new SessionExecutionBody() {
+                    @Override
+                    public Object execute() {
+                        return work.get();
+                    }
+                }, userService.getAdminUser());
+            } finally {
+                sessionService.closeSession(session);
+            }
+        } finally {
+            Registry.unsetCurrentTenant();
+        }
+    }
+
+    /**
+     * Thread factory for daemon threads named with the given prefix and a sequence number.
+     *
+     * @param prefix the thread name prefix
+     * @return the thread factory
+     */
+    public static ThreadFactory namedThreads(final String prefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public void setSessionService(final SessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    public void setUserService(final UserService userService) {
+        this.userService = userService;
+    }
+}
@@ -0,0 +1,19 @@
+package com.translations.ai.concurrent;
+
+/**
+ * Priority classes of AI requests, highest first.
+ */
+public enum TranslationPriority {
+    /**
+     * A user waits for the result in the backoffice.
+     */
+    INTERACTIVE,
+    /**
+     * Triggered by a product change (translation queue).
+     */
+    EVENT,
+    /**
+     * Bulk work: list view selections and cron jobs.
+     */
+    BULK
+}
@@ -0,0 +1,395 @@
+package com.translations.ai.concurrent;
+
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.translations.ai.exception.AiClientException;
+import com.translations.ai.exception.AiOverloadException;
+import com.translations.ai.metrics.QueueWaitStatistics;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Priority-aware admission of the AI requests of this node.
+ * <p>
+ * At most {@code translationsai.scheduler.maxConcurrency} requests run at a time, and
+ * {@code translationsai.scheduler.reservedInteractive} of these slots are only used by interactive requests, so a user
+ * in the backoffice never waits behind a full bulk load. Waiting requests are admitted by {@link TranslationPriority},
+ * round-robin across their owners (user, bulk task, cron job) within a class, so one large job cannot monopolize its
+ * class. A request that waited longer than {@code translationsai.scheduler.maxWait.ms} is admitted ahead of any newer
+ * event-driven or bulk request, so lower classes cannot starve. Event-driven and bulk requests together are further
+ * capped by the {@link AdaptiveConcurrencyLimiter}, which learns from the latency and errors of the requests run here.
+ * Only event-driven and bulk requests feed the limiter, since interactive requests are not bound by it. Background
+ * processing can be paused: event-driven and bulk requests then wait until it is resumed.
+ * <p>
+ * Requests run on the calling thread; the scheduler only decides when they may start. Callers declare the class and
+ * owner of their work with {@link #callAs(TranslationPriority, String, BooleanSupplier, Supplier)}, optionally with a
+ * cancellation check polled while their requests wait, so an aborted job does not wait for a paused scheduler.
+ */
+public class TranslationScheduler {
+    private static final Logger LOG = LoggerFactory.getLogger(TranslationScheduler.class);
+
+    private static final String CONFIG_MAX_CONCURRENCY = "translationsai.scheduler.maxConcurrency";
+    private static final String CONFIG_RESERVED_INTERACTIVE = "translationsai.scheduler.reservedInteractive";
+    private static final String CONFIG_MAX_WAIT_MS = "translationsai.scheduler.maxWait.ms";
+
+    /**
+     * Interval in which waiting requests poll the cancellation check of their work.
+     */
+    private static final long CANCEL_CHECK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ThreadLocal<Context> context = new ThreadLocal<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<TranslationPriority, Map<String, Deque<Waiter>>> waiting = new EnumMap<>(TranslationPriority.class);
+    private final int[] running = new int[TranslationPriority.values().length];
+
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+    private QueueWaitStatistics queueWaitStatistics;
+    private ConfigurationService configurationService;
+
+    private int maxConcurrency;
+    private int reservedInteractive;
+    private long maxWaitMs;
+    private volatile boolean backgroundPaused;
+
+    public void init() {
+        for (final TranslationPriority priority : TranslationPriority.values()) {
+            waiting.put(priority, new LinkedHashMap<>());
+        }
+        maxConcurrency = Math.max(1, configurationService.getConfiguration().getInt(CONFIG_MAX_CONCURRENCY, 8));
+        reservedInteractive = Math.max(0, Math.min(maxConcurrency - 1,
+                configurationService.getConfiguration().getInt(CONFIG_RESERVED_INTERACTIVE, 1)));
+        maxWaitMs = configurationService.getConfiguration().getLong(CONFIG_MAX_WAIT_MS, 30000L);
+    }
+
+    /**
+     * Execute work whose AI requests belong to the given class and owner.
+     *
+     * @param priority the priority class
+     * @param owner    the user, task or job the work is done for
+     * @param work     the work
+     * @return the result of the work
+     */
+    public <T> T callAs(final TranslationPriority priority, final String owner, final Supplier<T> work) {
+        return callAs(priority, owner, null, work);
+    }
+
+    /**
+     * Execute cancellable work whose AI requests belong to the given class and owner. Requests of the work waiting for
+     * a slot poll the cancellation check and fail once it returns true; running requests are completed. The check is
+     * called without holding the scheduler lock and may access the database.
+     *
+     * @param priority  the priority class
+     * @param owner     the user, task or job the work is done for
+     * @param cancelled the cancellation check, may be null
+     * @param work      the work
+     * @return the result of the work
+     */
+    public <T> T callAs(final TranslationPriority priority, final String owner, final BooleanSupplier cancelled,
+                        final Supplier<T> work) {
+        final Context previous = context.get();
+        context.set(new Context(priority, owner, cancelled));
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                context.remove();
+            } else {
+                context.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the priority class declared by the calling thread, or null
+     */
+    public TranslationPriority getCurrentPriority() {
+        final Context current = context.get();
+        return current != null ? current.priority : null;
+    }
+
+    /**
+     * @return the owner declared by the calling thread, or null
+     */
+    public String getCurrentOwner() {
+        final Context current = context.get();
+        return current != null ? current.owner : null;
+    }
+
+    /**
+     * Wait for a slot, then execute the request on the calling thread.
+     *
+     * @param priority the priority class of the request
+     * @param owner          the user, task or job the request is made for
+     * @param expectedTokens expected output tokens of the request, used to normalize its latency
+     * @param request        the AI request
+     * @return the result of the request
+     * @throws AiClientException if the thread is interrupted or the work of the calling thread is cancelled while
+     *                           waiting
+     */
+    public <T> T execute(final TranslationPriority priority, final String owner, final long expectedTokens, final Supplier<T> request)
+            throws AiClientException {
+        final Context current = context.get();
+        acquire(priority, owner, current != null ? current.cancelled : null);
+        // the limiter only caps event-driven and bulk requests, so it only learns from these
+        final boolean background = priority != TranslationPriority.INTERACTIVE;
+        final int inFlight = background ? getRunningBackground() : 0;
+        final long start = System.nanoTime();
+        try {
+            final T result = request.get();
+            if (background) {
+                adaptiveConcurrencyLimiter.onSuccess(System.nanoTime() - start, expectedTokens, inFlight);
+            }
+            return result;
+        } catch (final AiOverloadException e) {
+            if (background) {
+                adaptiveConcurrencyLimiter.onOverload(start);
+            }
+            throw e;
+        } finally {
+            release(priority);
+        }
+    }
+
+    private void acquire(final TranslationPriority priority, final String owner, final BooleanSupplier cancelled) {
+        final Waiter waiter = new Waiter(priority, owner, System.currentTimeMillis(), lock.newCondition());
+        boolean acquired = false;
+        lock.lock();
+        try {
+            waiting.get(priority).computeIfAbsent(owner, o -> new ArrayDeque<>()).add(waiter);
+            dispatch();
+            while (!waiter.admitted) {
+                if (cancelled == null) {
+                    waiter.condition.await();
+                } else if (isCancelled(cancelled) && !waiter.admitted) {
+                    throw new AiClientException("AI request of [" + owner + "] cancelled while waiting for a slot");
+                } else if (!waiter.admitted) {
+                    waiter.condition.awaitNanos(CANCEL_CHECK_NANOS);
+                }
+            }
+            acquired = true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AiClientException("Interrupted while waiting for an AI request slot", e);
+        } finally {
+            if (!acquired) {
+                if (waiter.admitted) {
+                    running[priority.ordinal()]--;
+                } else {
+                    remove(waiter);
+                }
+                dispatch();
+            }
+            lock.unlock();
+        }
+        final long waitMs = System.currentTimeMillis() - waiter.enqueuedAt;
+        queueWaitStatistics.recordWait(priority, waitMs);
+        if (waitMs > maxWaitMs) {
+            LOG.warn("{} AI request of [{}] waited {} ms for a slot", priority, owner, waitMs);
+        }
+    }
+
+    /**
+     * Call a cancellation check without holding the lock. Must be called holding the lock.
+     */
+    private boolean isCancelled(final BooleanSupplier cancelled) {
+        lock.unlock();
+        try {
+            return cancelled.getAsBoolean();
+        } finally {
+            lock.lock();
+        }
+    }
+
+    private void release(final TranslationPriority priority) {
+        lock.lock();
+        try {
+            running[priority.ordinal()]--;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Admit waiting requests while there are free slots. Must be called holding the lock.
+     */
+    private void dispatch() {
+        Waiter next;
+        while ((next = selectNext()) != null) {
+            remove(next);
+            next.admitted = true;
+            running[next.priority.ordinal()]++;
+            next.condition.signal();
+        }
+    }
+
+    private Waiter selectNext() {
+        final long starvedBefore = System.currentTimeMillis() - maxWaitMs;
+        Waiter starved = null;
+        for (final Map<String, Deque<Waiter>> owners : waiting.values()) {
+            for (final Deque<Waiter> queue : owners.values()) {
+                final Waiter head = queue.peek();
+                if (head.enqueuedAt < starvedBefore && (starved == null || head.enqueuedAt < starved.enqueuedAt)) {
+                    starved = head;
+                }
+            }
+        }
+        if (starved != null && canStart(starved.priority)) {
+            return starved;
+        }
+        for (final TranslationPriority priority : TranslationPriority.values()) {
+            // a starved request that cannot start yet only lets interactive requests pass
+            if (starved != null && priority != TranslationPriority.INTERACTIVE) {
+                return null;
+            }
+            final Map<String, Deque<Waiter>> owners = waiting.get(priority);
+            if (!owners.isEmpty() && canStart(priority)) {
+                return owners.values().iterator().next().peek();
+            }
+        }
+        return null;
+    }
+
+    private boolean canStart(final TranslationPriority priority) {
+        final int interactive = running[TranslationPriority.INTERACTIVE.ordinal()];
+        final int total = countRunning();
+        if (priority == TranslationPriority.INTERACTIVE) {
+            return total < maxConcurrency;
+        }
+        if (backgroundPaused) {
+            return false;
+        }
+        return total < maxConcurrency
+                && total - interactive < Math.min(maxConcurrency - reservedInteractive, adaptiveConcurrencyLimiter.getLimit());
+    }
+
+    /**
+     * Remove a waiter and move its owner to the end of the round-robin order of its class.
+     */
+    private void remove(final Waiter waiter) {
+        final Map<String, Deque<Waiter>> owners = waiting.get(waiter.priority);
+        final Deque<Waiter> queue = owners.remove(waiter.owner);
+        if (queue != null) {
+            queue.remove(waiter);
+            if (!queue.isEmpty()) {
+                owners.put(waiter.owner, queue);
+            }
+        }
+    }
+
+    /**
+     * Pause or resume event-driven and bulk requests. Running requests are completed; interactive requests are not
+     * affected.
+     *
+     * @param paused true to pause, false to resume
+     */
+    public void setBackgroundPaused(final boolean paused) {
+        lock.lock();
+        try {
+            backgroundPaused = paused;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+        LOG.info("Background AI translation {}", paused ? "paused" : "resumed");
+    }
+
+    public boolean isBackgroundPaused() {
+        return backgroundPaused;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return number of running requests
+     */
+    public int getRunning() {
+        lock.lock();
+        try {
+            return countRunning();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int getRunningBackground() {
+        lock.lock();
+        try {
+            return countRunning() - running[TranslationPriority.INTERACTIVE.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int countRunning() {
+        int total = 0;
+        for (final int count : running) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * @param priority the priority class
+     * @return number of requests of the class waiting for a slot
+     */
+    public int getQueued(final TranslationPriority priority) {
+        lock.lock();
+        try {
+            return waiting.get(priority).values().stream().mapToInt(Deque::size).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void setAdaptiveConcurrencyLimiter(final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter) {
+        this.adaptiveConcurrencyLimiter = adaptiveConcurrencyLimiter;
+    }
+
+    public void setQueueWaitStatistics(final QueueWaitStatistics queueWaitStatistics) {
+        this.queueWaitStatistics = queueWaitStatistics;
+    }
+
+    public void setConfigurationService(final ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+
+    private static final class Context {
+        private final TranslationPriority priority;
+        private final String owner;
+        private final BooleanSupplier cancelled;
+
+        private Context(final TranslationPriority priority, final String owner, final BooleanSupplier cancelled) {
+            this.priority = priority;
+            this.owner = owner;
+            this.cancelled = cancelled;
+        }
+    }
+
+    private static final class Waiter {
+        private final TranslationPriority priority;
+        private final String owner;
+        private final long enqueuedAt;
+        private final Condition condition;
+        private boolean admitted;
+
+        private Waiter(final TranslationPriority priority, final String owner, final long enqueuedAt, final Condition condition) {
+            this.priority = priority;
+            this.owner = owner;
+            this.enqueuedAt = enqueuedAt;
+            this.condition = condition;
+        }
+    }
+}
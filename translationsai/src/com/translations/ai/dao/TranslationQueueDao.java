@@ -0,0 +1,47 @@
+package com.translations.ai.dao;
+
+import de.hybris.platform.core.model.product.ProductModel;
+import com.translations.model.TranslationQueueEntryModel;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Data access for the persistent translation work queue.
+ */
+public interface TranslationQueueDao {
+    /**
+     * @param product the product
+     * @return the queue entry of the product, or null if it is not queued
+     */
+    TranslationQueueEntryModel findEntry(ProductModel product);
+
+    /**
+     * Find entries that are ready to be processed: pending entries due at the given time, and entries claimed
+     * before the given claim expiry (left behind by a consumer that stopped).
+     *
+     * @param now         the current time
+     * @param claimExpiry claims older than this are considered abandoned
+     * @param max         maximum number of entries to return
+     * @return due entries, oldest first
+     */
+    List<TranslationQueueEntryModel> findDueEntries(Date now, Date claimExpiry, int max);
+
+    /**
+     * Atomically claim an entry for processing: a conditional update sets the status to processing, the claim time
+     * and the new token only if status and token are still the ones read. Of several nodes claiming the same entry,
+     * only one succeeds. This is the only write of the queue that bypasses the model service; the claimed entry must
+     * be refreshed before use.
+     *
+     * @param entry     the entry as read, with its current status and claim token
+     * @param token     the new claim token
+     * @param claimedAt the claim time
+     * @return true if this call claimed the entry
+     */
+    boolean claimIfUnchanged(TranslationQueueEntryModel entry, String token, Date claimedAt);
+
+    /**
+     * @return number of entries waiting to be processed (pending or processing)
+     */
+    int countOpenEntries();
+}
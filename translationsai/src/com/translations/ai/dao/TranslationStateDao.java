@@ -0,0 +1,42 @@
+package com.translations.ai.dao;
+
+import de.hybris.platform.catalog.model.CatalogVersionModel;
+import de.hybris.platform.core.model.product.ProductModel;
+import com.translations.model.ProductTranslationStateModel;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Data access for {@link ProductTranslationStateModel} and translation change detection.
+ */
+public interface TranslationStateDao {
+    /**
+     * Find the stored translation states of a product for the given target languages.
+     *
+     * @param product         the product
+     * @param targetLanguages IETF BCP 47 tags of the target languages
+     * @return the states found, possibly fewer than requested languages
+     */
+    List<ProductTranslationStateModel> findStates(ProductModel product, Collection<String> targetLanguages);
+
+    /**
+     * Find all stored translation states of a product.
+     *
+     * @param product the product
+     * @return the states of all target languages
+     */
+    List<ProductTranslationStateModel> findStates(ProductModel product);
+
+    /**
+     * Find products of a catalog version that may need (re-)translation: products missing a state for any of the
+     * target languages, or modified after one of their translations was applied.
+     * Candidates must still be confirmed by comparing source hashes, because not every modification touches the
+     * source description.
+     *
+     * @param catalogVersion  the catalog version to search
+     * @param targetLanguages IETF BCP 47 tags of the target languages
+     * @return candidate products
+     */
+    List<ProductModel> findTranslationCandidates(CatalogVersionModel catalogVersion, Collection<String> targetLanguages);
+}
@@ -0,0 +1,121 @@
+package com.translations.ai.dao.impl;
+
+import de.hybris.platform.core.Registry;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.core.model.type.ComposedTypeModel;
+import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
+import de.hybris.platform.servicelayer.search.FlexibleSearchService;
+import de.hybris.platform.servicelayer.type.TypeService;
+import de.hybris.platform.util.Utilities;
+import org.springframework.jdbc.core.JdbcTemplate;
+import com.translations.ai.dao.TranslationQueueDao;
+import com.translations.enums.TranslationQueueStatus;
+import com.translations.model.TranslationQueueEntryModel;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FlexibleSearch based implementation of {@link TranslationQueueDao}. Claims are the one exception: they are made with
+ * a conditional JDBC update in {@link #claimIfUnchanged}, see there.
+ */
+public class DefaultTranslationQueueDao implements TranslationQueueDao {
+
+    private static final String FIND_ENTRY_QUERY = "SELECT {e:" + TranslationQueueEntryModel.PK + "} "
+            + "FROM {" + TranslationQueueEntryModel._TYPECODE + " AS e} "
+            + "WHERE {e:" + TranslationQueueEntryModel.PRODUCT + "} = ?product";
+
+    private static final String FIND_DUE_QUERY = "SELECT {e:" + TranslationQueueEntryModel.PK + "} "
+            + "FROM {" + TranslationQueueEntryModel._TYPECODE + " AS e} "
+            + "WHERE ({e:" + TranslationQueueEntryModel.STATUS + "} = ?pending "
+            + "AND {e:" + TranslationQueueEntryModel.NOTBEFORE + "} <= ?now) "
+            + "OR ({e:" + TranslationQueueEntryModel.STATUS + "} = ?processing "
+            + "AND {e:" + TranslationQueueEntryModel.CLAIMEDAT + "} < ?claimExpiry) "
+            + "ORDER BY {e:" + TranslationQueueEntryModel.NOTBEFORE + "} ASC";
+
+    private static final String COUNT_OPEN_QUERY = "SELECT COUNT({e:" + TranslationQueueEntryModel.PK + "}) "
+            + "FROM {" + TranslationQueueEntryModel._TYPECODE + " AS e} "
+            + "WHERE {e:" + TranslationQueueEntryModel.STATUS + "} IN (?statuses)";
+
+    private FlexibleSearchService flexibleSearchService;
+    private TypeService typeService;
+
+    @Override
+    public TranslationQueueEntryModel findEntry(final ProductModel product) {
+        final FlexibleSearchQuery query = new FlexibleSearchQuery(FIND_ENTRY_QUERY, Collections.singletonMap("product", product));
+        final List<TranslationQueueEntryModel> result = flexibleSearchService.<TranslationQueueEntryModel>search(query).getResult();
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    @Override
+    public List<TranslationQueueEntryModel> findDueEntries(final Date now, final Date claimExpiry, final int max) {
+        final Map<String, Object> params = new HashMap<>();
+        params.put("pending", TranslationQueueStatus.PENDING);
+        params.put("processing", TranslationQueueStatus.PROCESSING);
+        params.put("now", now);
+        params.put("claimExpiry", claimExpiry);
+        final FlexibleSearchQuery query = new FlexibleSearchQuery(FIND_DUE_QUERY, params);
+        query.setCount(max);
+        return flexibleSearchService.<TranslationQueueEntryModel>search(query).getResult();
+    }
+
+    /**
+     * Claims need a compare-and-set, which the service layer does not offer: FlexibleSearch is read-only, and
+     * {@code ModelService.save} writes the attributes unconditionally, so two nodes that read the same pending entry
+     * would both save their claim and the last one would silently win. The claim is therefore a single SQL update whose
+     * WHERE clause repeats the status and token as read; the database applies it for one node only. The entry is
+     * evicted from the cache of all cluster nodes afterwards, as the update bypasses the persistence layer.
+     */
+    @Override
+    public boolean claimIfUnchanged(final TranslationQueueEntryModel entry, final String token, final Date claimedAt) {
+        final ComposedTypeModel type = typeService.getComposedTypeForClass(TranslationQueueEntryModel.class);
+        final String tokenColumn = getColumn(type, TranslationQueueEntryModel.CLAIMTOKEN);
+        final String sql = "UPDATE " + type.getTable()
+                + " SET " + getColumn(type, TranslationQueueEntryModel.STATUS) + " = ?, "
+                + getColumn(type, TranslationQueueEntryModel.CLAIMEDAT) + " = ?, "
+                + tokenColumn + " = ? "
+                + "WHERE PK = ? AND " + getColumn(type, TranslationQueueEntryModel.STATUS) + " = ? AND "
+                + (entry.getClaimToken() == null ? tokenColumn + " IS NULL" : tokenColumn + " = ?");
+
+        final List<Object> params = new ArrayList<>(Arrays.asList(
+                getEnumPk(TranslationQueueStatus.PROCESSING), new Timestamp(claimedAt.getTime()), token,
+                entry.getPk().getLong(), getEnumPk(entry.getStatus())));
+        if (entry.getClaimToken() != null) {
+            params.add(entry.getClaimToken());
+        }
+        final int updated = new JdbcTemplate(Registry.getCurrentTenant().getDataSource()).update(sql, params.toArray());
+        Utilities.invalidateCache(entry.getPk());
+        return updated == 1;
+    }
+
+    private String getColumn(final ComposedTypeModel type, final String qualifier) {
+        return typeService.getAttributeDescriptor(type, qualifier).getDatabaseColumn();
+    }
+
+    private Long getEnumPk(final TranslationQueueStatus status) {
+        return typeService.getEnumerationValue(status).getPk().getLong();
+    }
+
+    @Override
+    public int countOpenEntries() {
+        final FlexibleSearchQuery query = new FlexibleSearchQuery(COUNT_OPEN_QUERY,
+                Collections.singletonMap("statuses", Arrays.asList(TranslationQueueStatus.PENDING, TranslationQueueStatus.PROCESSING)));
+        query.setResultClassList(Collections.singletonList(Integer.class));
+        final List<Integer> result = flexibleSearchService.<Integer>search(query).getResult();
+        return result.isEmpty() ? 0 : result.get(0).intValue();
+    }
+
+    public void setFlexibleSearchService(final FlexibleSearchService flexibleSearchService) {
+        this.flexibleSearchService = flexibleSearchService;
+    }
+
+    public void setTypeService(final TypeService typeService) {
+        this.typeService = typeService;
+    }
+}
@@ -0,0 +1,84 @@
+package com.translations.ai.dao.impl;
+
+import de.hybris.platform.catalog.model.CatalogVersionModel;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
+import de.hybris.platform.servicelayer.search.FlexibleSearchService;
+import com.translations.ai.dao.TranslationStateDao;
+import com.translations.model.ProductTranslationStateModel;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FlexibleSearch based implementation of {@link TranslationStateDao}.
+ */
+public class DefaultTranslationStateDao implements TranslationStateDao {
+
+    private static final String FIND_STATES_QUERY = "SELECT {s:" + ProductTranslationStateModel.PK + "} "
+            + "FROM {" + ProductTranslationStateModel._TYPECODE + " AS s} "
+            + "WHERE {s:" + ProductTranslationStateModel.PRODUCT + "} = ?product "
+            + "AND {s:" + ProductTranslationStateModel.TARGETLANGUAGE + "} IN (?targetLanguages)";
+
+    private static final String FIND_ALL_STATES_QUERY = "SELECT {s:" + ProductTranslationStateModel.PK + "} "
+            + "FROM {" + ProductTranslationStateModel._TYPECODE + " AS s} "
+            + "WHERE {s:" + ProductTranslationStateModel.PRODUCT + "} = ?product";
+
+    private static final String FIND_CANDIDATES_QUERY = "SELECT {p:" + ProductModel.PK + "} "
+            + "FROM {" + ProductModel._TYPECODE + " AS p} "
+            + "WHERE {p:" + ProductModel.CATALOGVERSION + "} = ?catalogVersion "
+            + "AND ( "
+            + "({{ SELECT COUNT({s:" + ProductTranslationStateModel.PK + "}) "
+            + "FROM {" + ProductTranslationStateModel._TYPECODE + " AS s} "
+            + "WHERE {s:" + ProductTranslationStateModel.PRODUCT + "} = {p:" + ProductModel.PK + "} "
+            + "AND {s:" + ProductTranslationStateModel.TARGETLANGUAGE + "} IN (?targetLanguages) }}) < ?targetLanguageCount "
+            + "OR EXISTS ({{ SELECT {s2:" + ProductTranslationStateModel.PK + "} "
+            + "FROM {" + ProductTranslationStateModel._TYPECODE + " AS s2} "
+            + "WHERE {s2:" + ProductTranslationStateModel.PRODUCT + "} = {p:" + ProductModel.PK + "} "
+            + "AND {s2:" + ProductTranslationStateModel.TARGETLANGUAGE + "} IN (?targetLanguages) "
+            + "AND {s2:" + ProductTranslationStateModel.TRANSLATEDAT + "} < {p:" + ProductModel.MODIFIEDTIME + "} }}) "
+            + ") "
+            + "ORDER BY {p:" + ProductModel.PK + "}";
+
+    private FlexibleSearchService flexibleSearchService;
+
+    @Override
+    public List<ProductTranslationStateModel> findStates(final ProductModel product, final Collection<String> targetLanguages) {
+        if (targetLanguages == null || targetLanguages.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final Map<String, Object> params = new HashMap<>();
+        params.put("product", product);
+        params.put("targetLanguages", targetLanguages);
+        final FlexibleSearchQuery query = new FlexibleSearchQuery(FIND_STATES_QUERY, params);
+        return flexibleSearchService.<ProductTranslationStateModel>search(query).getResult();
+    }
+
+    @Override
+    public List<ProductTranslationStateModel> findStates(final ProductModel product) {
+        final FlexibleSearchQuery query = new FlexibleSearchQuery(FIND_ALL_STATES_QUERY,
+                Collections.singletonMap("product", product));
+        return flexibleSearchService.<ProductTranslationStateModel>search(query).getResult();
+    }
+
+    @Override
+    public List<ProductModel> findTranslationCandidates(final CatalogVersionModel catalogVersion,
+                                                        final Collection<String> targetLanguages) {
+        if (targetLanguages == null || targetLanguages.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final Map<String, Object> params = new HashMap<>();
+        params.put("catalogVersion", catalogVersion);
+        params.put("targetLanguages", targetLanguages);
+        params.put("targetLanguageCount", Integer.valueOf(targetLanguages.size()));
+        final FlexibleSearchQuery query = new FlexibleSearchQuery(FIND_CANDIDATES_QUERY, params);
+        return flexibleSearchService.<ProductModel>search(query).getResult();
+    }
+
+    public void setFlexibleSearchService(final FlexibleSearchService flexibleSearchService) {
+        this.flexibleSearchService = flexibleSearchService;
+    }
+}
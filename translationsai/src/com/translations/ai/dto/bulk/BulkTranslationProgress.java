@@ -0,0 +1,83 @@
+package com.translations.ai.dto.bulk;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live progress of a bulk translation task. Counters are updated by worker threads and may be read at any time.
+ */
+public class BulkTranslationProgress {
+
+    /**
+     * Lifecycle of a bulk translation task.
+     */
+    public enum Status {
+        RUNNING, FINISHED, CANCELLED
+    }
+
+    private final String taskId;
+
+    private final int total;
+
+    private final AtomicInteger translated = new AtomicInteger();
+
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private final long startedAt = System.currentTimeMillis();
+
+    private volatile Status status = Status.RUNNING;
+
+    private volatile long finishedAt;
+
+    public BulkTranslationProgress(final String taskId, final int total) {
+        this.taskId = taskId;
+        this.total = total;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getTranslated() {
+        return translated.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * @return number of products processed so far, successfully or not
+     */
+    public int getProcessed() {
+        return translated.get() + failed.get();
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void addTranslated(final int count) {
+        translated.addAndGet(count);
+    }
+
+    public void addFailed(final int count) {
+        failed.addAndGet(count);
+    }
+
+    public void finish(final Status finalStatus) {
+        this.finishedAt = System.currentTimeMillis();
+        this.status = finalStatus;
+    }
+}
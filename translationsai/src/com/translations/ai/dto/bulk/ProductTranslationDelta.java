@@ -0,0 +1,32 @@
+package com.translations.ai.dto.bulk;
+
+import de.hybris.platform.core.model.product.ProductModel;
+
+import java.util.List;
+
+/**
+ * A product together with the target languages whose translation is missing or stale,
+ * i.e. produced from a different version of the source description.
+ */
+public class ProductTranslationDelta {
+
+    private final ProductModel product;
+
+    private final List<String> targetLanguages;
+
+    public ProductTranslationDelta(final ProductModel product, final List<String> targetLanguages) {
+        this.product = product;
+        this.targetLanguages = targetLanguages;
+    }
+
+    public ProductModel getProduct() {
+        return product;
+    }
+
+    /**
+     * @return IETF BCP 47 tags of the languages that need (re-)translation
+     */
+    public List<String> getTargetLanguages() {
+        return targetLanguages;
+    }
+}
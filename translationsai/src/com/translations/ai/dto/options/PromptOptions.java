@@ -11,6 +11,8 @@ import java.util.List;
  * - enhanceSource: If true, first enhance the source description in the base language and include the base language
  * in targets; if false, perform pure translation of the original text. In pure translation mode it is recommended
  * NOT to include the base language in targets.
+ * - attributes: Qualifiers of the localized product attributes to translate together (e.g., "name", "description").
+ * If null, the attributes configured by {@code translationsai.attributes} are used.
  */
 public class PromptOptions {
     private String tone;
@@ -22,6 +24,7 @@ public class PromptOptions {
      * If false, do not enhance the source; translate the original source description and do not include base language.
      */
     private boolean enhanceSource;
+    private List<String> attributes;
 
     public String getTone() {
         return tone;
@@ -62,4 +65,12 @@ public class PromptOptions {
     public void setEnhanceSource(final boolean enhanceSource) {
         this.enhanceSource = enhanceSource;
     }
+
+    public List<String> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(final List<String> attributes) {
+        this.attributes = attributes;
+    }
 }
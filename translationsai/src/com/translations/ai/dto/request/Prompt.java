@@ -0,0 +1,56 @@
+package com.translations.ai.dto.request;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Prompt sent to the AI, split into a static system part and a variable user part.
+ * <p>
+ * Fields:
+ * - system: Instructions that are byte-identical for all requests of the same kind, sent first.
+ * - user: Per-request values (languages, tone, source texts), sent last.
+ * - sourceTexts: The texts to translate, as contained in the user part; used to estimate the expected output.
+ * - outputLanguages: Number of languages the model answers in.
+ */
+public class Prompt {
+
+    private final String system;
+
+    private final String user;
+
+    private final List<String> sourceTexts;
+
+    private final int outputLanguages;
+
+    public Prompt(final String system, final String user) {
+        this(system, user, Collections.emptyList(), 0);
+    }
+
+    public Prompt(final String system, final String user, final List<String> sourceTexts, final int outputLanguages) {
+        this.system = system;
+        this.user = user;
+        this.sourceTexts = sourceTexts;
+        this.outputLanguages = outputLanguages;
+    }
+
+    public String getSystem() {
+        return system;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public List<String> getSourceTexts() {
+        return sourceTexts;
+    }
+
+    public int getOutputLanguages() {
+        return outputLanguages;
+    }
+
+    @Override
+    public String toString() {
+        return system + "\n" + user;
+    }
+}
@@ -0,0 +1,61 @@
+package com.translations.ai.dto.request;
+
+/**
+ * Token estimate of one or more AI requests, computed locally before they are sent.
+ * <p>
+ * Fields:
+ * - requests: Number of AI requests.
+ * - promptTokens: Estimated input tokens (system and user message, response schema).
+ * - completionTokens: Estimated output tokens (translations and structured-response overhead).
+ */
+public class TokenEstimate {
+
+    private int requests;
+
+    private long promptTokens;
+
+    private long completionTokens;
+
+    public TokenEstimate() {
+    }
+
+    public TokenEstimate(final long promptTokens, final long completionTokens) {
+        this.requests = 1;
+        this.promptTokens = promptTokens;
+        this.completionTokens = completionTokens;
+    }
+
+    /**
+     * Add another estimate to this one.
+     *
+     * @param other the estimate to add
+     * @return this estimate
+     */
+    public TokenEstimate add(final TokenEstimate other) {
+        requests += other.requests;
+        promptTokens += other.promptTokens;
+        completionTokens += other.completionTokens;
+        return this;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public long getPromptTokens() {
+        return promptTokens;
+    }
+
+    public long getCompletionTokens() {
+        return completionTokens;
+    }
+
+    public long getTotalTokens() {
+        return promptTokens + completionTokens;
+    }
+
+    @Override
+    public String toString() {
+        return requests + " requests, " + promptTokens + " prompt + " + completionTokens + " completion tokens";
+    }
+}
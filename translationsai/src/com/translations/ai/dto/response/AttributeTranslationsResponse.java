@@ -0,0 +1,22 @@
+package com.translations.ai.dto.response;
+
+/**
+ * Translations of a single localized product attribute within a multi-attribute response.
+ * Each {@link Translation} holds the translated value of the attribute in its description field.
+ */
+public class AttributeTranslationsResponse extends TranslationsResponse {
+
+    /**
+     * Qualifier of the product attribute (e.g., "name", "description").
+     */
+    private String attribute;
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public void setAttribute(String attribute) {
+        this.attribute = attribute;
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.translations.ai.dto.response;
+
+import java.util.List;
+
+/**
+ * Structured response for a prompt that translates several localized attributes of one product together.
+ * The SDK deserializes the assistant message into this POJO when
+ * {@code responseFormat(AttributesTranslationsResponse.class)} is used.
+ */
+public class AttributesTranslationsResponse {
+
+    /**
+     * Translations per attribute, keyed by the attribute qualifier given in the prompt.
+     */
+    private List<AttributeTranslationsResponse> attributes;
+
+    public List<AttributeTranslationsResponse> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(List<AttributeTranslationsResponse> attributes) {
+        this.attributes = attributes;
+    }
+
+}
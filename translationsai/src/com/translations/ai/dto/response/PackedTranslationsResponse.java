@@ -0,0 +1,25 @@
+package com.translations.ai.dto.response;
+
+import java.util.List;
+
+/**
+ * Structured response for a prompt that packs the descriptions of several products.
+ * The SDK deserializes the assistant message into this POJO when
+ * {@code responseFormat(PackedTranslationsResponse.class)} is used.
+ */
+public class PackedTranslationsResponse {
+
+    /**
+     * Translations per product, keyed by the product identifier given in the prompt.
+     */
+    private List<ProductTranslationsResponse> products;
+
+    public List<ProductTranslationsResponse> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductTranslationsResponse> products) {
+        this.products = products;
+    }
+
+}
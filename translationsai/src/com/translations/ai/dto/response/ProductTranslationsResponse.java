@@ -0,0 +1,22 @@
+package com.translations.ai.dto.response;
+
+/**
+ * Translations of a single product within a packed (multi-product) response.
+ * The product identifier is the key the product was given in the packed prompt.
+ */
+public class ProductTranslationsResponse extends TranslationsResponse {
+
+    /**
+     * Identifier of the product as given in the prompt.
+     */
+    private String productId;
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+}
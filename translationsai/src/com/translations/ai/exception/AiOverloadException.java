@@ -0,0 +1,17 @@
+/*
+ * Copyright (c) 2023 SAP SE or an SAP affiliate company. All rights reserved
+ */
+package com.translations.ai.exception;
+
+/**
+ * Exception thrown when the AI provider is overloaded: rate limited, server error or timeout
+ */
+public class AiOverloadException extends AiClientException
+{
+	private static final long serialVersionUID = 1L;
+
+	public AiOverloadException(final String message, final Throwable cause)
+	{
+		super(message, cause);
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2023 SAP SE or an SAP affiliate company. All rights reserved
+ */
+package com.translations.ai.exception;
+
+/**
+ * Exception thrown when a request is rejected before it is sent because it would exceed a token budget
+ */
+public class TokenBudgetExceededException extends AiClientException
+{
+	private static final long serialVersionUID = 1L;
+
+	private final boolean usedUp;
+
+	public TokenBudgetExceededException(final String message)
+	{
+		this(message, false);
+	}
+
+	/**
+	 * @param usedUp true if the job or daily budget is used up, false if only this request is too large
+	 */
+	public TokenBudgetExceededException(final String message, final boolean usedUp)
+	{
+		super(message);
+		this.usedUp = usedUp;
+	}
+
+	/**
+	 * @return true if further requests of the job would be rejected as well, so its remaining work should stop
+	 */
+	public boolean isUsedUp()
+	{
+		return usedUp;
+	}
+}
@@ -0,0 +1,40 @@
+package com.translations.ai.interceptor;
+
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.interceptor.InterceptorContext;
+import de.hybris.platform.servicelayer.interceptor.InterceptorException;
+import de.hybris.platform.servicelayer.interceptor.PersistenceOperation;
+import de.hybris.platform.servicelayer.interceptor.RemoveInterceptor;
+import com.translations.ai.dao.TranslationQueueDao;
+import com.translations.ai.dao.TranslationStateDao;
+import com.translations.model.TranslationQueueEntryModel;
+
+/**
+ * Removes the translation states and the queue entry of a product together with the product, so no orphaned rows
+ * are left behind. Also covers products removed with their catalog version, which are removed one by one.
+ */
+public class ProductTranslationCleanupInterceptor implements RemoveInterceptor<ProductModel> {
+
+    private TranslationStateDao translationStateDao;
+    private TranslationQueueDao translationQueueDao;
+
+    @Override
+    public void onRemove(final ProductModel product, final InterceptorContext ctx) throws InterceptorException {
+        if (ctx.getModelService().isNew(product)) {
+            return;
+        }
+        translationStateDao.findStates(product).forEach(state -> ctx.registerElementFor(state, PersistenceOperation.DELETE));
+        final TranslationQueueEntryModel entry = translationQueueDao.findEntry(product);
+        if (entry != null) {
+            ctx.registerElementFor(entry, PersistenceOperation.DELETE);
+        }
+    }
+
+    public void setTranslationStateDao(final TranslationStateDao translationStateDao) {
+        this.translationStateDao = translationStateDao;
+    }
+
+    public void setTranslationQueueDao(final TranslationQueueDao translationQueueDao) {
+        this.translationQueueDao = translationQueueDao;
+    }
+}
@@ -0,0 +1,57 @@
+package com.translations.ai.interceptor;
+
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import de.hybris.platform.servicelayer.interceptor.InterceptorContext;
+import de.hybris.platform.servicelayer.interceptor.InterceptorException;
+import de.hybris.platform.servicelayer.interceptor.PersistenceOperation;
+import de.hybris.platform.servicelayer.interceptor.PrepareInterceptor;
+import org.apache.commons.lang3.StringUtils;
+import com.translations.ai.service.TranslationQueueService;
+import com.translations.ai.service.TranslationsAiService;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Enqueues a product for background translation when one of its translated attributes ({@code translationsai.attributes})
+ * is changed in the configured source language ({@code translationsai.queue.sourceLanguage}). The queue entry is saved in the same transaction
+ * as the product, so no change is lost if the save rolls back or the node goes down.
+ */
+public class ProductTranslationQueueInterceptor implements PrepareInterceptor<ProductModel> {
+
+    private static final String CONFIG_SOURCE_LANGUAGE = "translationsai.queue.sourceLanguage";
+
+    private TranslationQueueService translationQueueService;
+    private TranslationsAiService translationsAiService;
+    private ConfigurationService configurationService;
+
+    @Override
+    public void onPrepare(final ProductModel product, final InterceptorContext ctx) throws InterceptorException {
+        if (!translationQueueService.isEnabled() || !translationsAiService.isEnabled()) {
+            return;
+        }
+        final Locale sourceLocale = Locale.forLanguageTag(
+                configurationService.getConfiguration().getString(CONFIG_SOURCE_LANGUAGE, "en"));
+        final List<String> attributes = translationsAiService.getAttributes();
+        final boolean changed = attributes.stream()
+                .anyMatch(attribute -> product.getItemModelContext().isDirty(attribute, sourceLocale)
+                        && StringUtils.isNotBlank(ctx.getModelService().getAttributeValue(product, attribute, sourceLocale)));
+        if (!changed) {
+            return;
+        }
+        ctx.registerElementFor(translationQueueService.enqueue(product, sourceLocale), PersistenceOperation.SAVE);
+    }
+
+    public void setTranslationQueueService(final TranslationQueueService translationQueueService) {
+        this.translationQueueService = translationQueueService;
+    }
+
+    public void setTranslationsAiService(final TranslationsAiService translationsAiService) {
+        this.translationsAiService = translationsAiService;
+    }
+
+    public void setConfigurationService(final ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+}
@@ -0,0 +1,153 @@
+package com.translations.ai.job;
+
+import de.hybris.platform.cronjob.enums.CronJobResult;
+import de.hybris.platform.cronjob.enums.CronJobStatus;
+import de.hybris.platform.servicelayer.cronjob.AbstractJobPerformable;
+import de.hybris.platform.servicelayer.cronjob.PerformResult;
+import de.hybris.platform.servicelayer.i18n.CommonI18NService;
+import org.apache.commons.collections4.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.translations.ai.concurrent.TranslationPriority;
+import com.translations.ai.concurrent.TranslationScheduler;
+import com.translations.ai.dto.bulk.ProductTranslationDelta;
+import com.translations.ai.service.ProductTranslationService;
+import com.translations.ai.service.TokenBudgetService;
+import com.translations.ai.service.TranslationStateService;
+import com.translations.ai.service.TranslationWriter;
+import com.translations.ai.service.TranslationsAiService;
+import com.translations.model.TranslationCronJobModel;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Scheduled translation of a catalog version. Only products whose source description changed since their last
+ * translation are processed (see {@link TranslationStateService#findChangedProducts}), and only for the stale
+ * languages, so nightly runs stay proportional to the number of edits rather than the catalog size. AI requests are
+ * scheduled as {@link TranslationPriority#BULK} with the cron job as owner, and each run has its own token budget
+ * ({@link TokenBudgetService}). An abort request is checked between chunks and by requests waiting for a slot, so a
+ * job can also be aborted while background translation is paused. In dry-run mode the run only logs the estimated
+ * requests and tokens.
+ */
+public class TranslationJobPerformable extends AbstractJobPerformable<TranslationCronJobModel> {
+    private static final Logger LOG = LoggerFactory.getLogger(TranslationJobPerformable.class);
+
+    /**
+     * Number of products handed to the translation service at once; abort requests are checked between chunks.
+     */
+    private static final int CHUNK_SIZE = 50;
+
+    private TranslationsAiService translationsAiService;
+    private TranslationStateService translationStateService;
+    private ProductTranslationService productTranslationService;
+    private TranslationWriter translationWriter;
+    private TranslationScheduler translationScheduler;
+    private TokenBudgetService tokenBudgetService;
+    private CommonI18NService commonI18NService;
+
+    @Override
+    public PerformResult perform(final TranslationCronJobModel cronJob) {
+        if (!translationsAiService.isEnabled()) {
+            LOG.warn("AI translation feature is not enabled, skipping cron job [{}]", cronJob.getCode());
+            return new PerformResult(CronJobResult.FAILURE, CronJobStatus.FINISHED);
+        }
+        if (cronJob.getCatalogVersion() == null || cronJob.getSourceLanguage() == null) {
+            LOG.error("Cron job [{}] requires a catalog version and a source language", cronJob.getCode());
+            return new PerformResult(CronJobResult.ERROR, CronJobStatus.ABORTED);
+        }
+
+        final Locale sourceLocale = commonI18NService.getLocaleForLanguage(cronJob.getSourceLanguage());
+        final List<String> targetLanguages = getTargetLanguages(cronJob, sourceLocale);
+        final List<ProductTranslationDelta> deltas =
+                translationStateService.findChangedProducts(cronJob.getCatalogVersion(), sourceLocale, targetLanguages);
+
+        if (Boolean.TRUE.equals(cronJob.getDryRun())) {
+            LOG.info("Cron job [{}] dry run: {} changed products, estimated {}", cronJob.getCode(), deltas.size(),
+                    productTranslationService.estimateAll(deltas, sourceLocale));
+            return new PerformResult(CronJobResult.SUCCESS, CronJobStatus.FINISHED);
+        }
+
+        final String job = "cronjob:" + cronJob.getCode();
+        // the abort request is cleared when read, so it is remembered for the remaining requests of the run
+        final AtomicBoolean aborted = new AtomicBoolean();
+        final BooleanSupplier abortRequested = () -> aborted.get() || aborted.compareAndSet(false, clearAbortRequestedIfNeeded(cronJob));
+        int failed = 0;
+        tokenBudgetService.startJob(job);
+        try {
+            for (int from = 0; from < deltas.size(); from += CHUNK_SIZE) {
+                if (abortRequested.getAsBoolean()) {
+                    translationWriter.flush();
+                    LOG.info("Cron job [{}] aborted", cronJob.getCode());
+                    return new PerformResult(CronJobResult.UNKNOWN, CronJobStatus.ABORTED);
+                }
+                if (tokenBudgetService.isExhausted(job)) {
+                    translationWriter.flush();
+                    LOG.warn("Cron job [{}] stopped: token budget used up after {} of {} products", cronJob.getCode(), from, deltas.size());
+                    return new PerformResult(CronJobResult.ERROR, CronJobStatus.FINISHED);
+                }
+                final List<ProductTranslationDelta> chunk = deltas.subList(from, Math.min(from + CHUNK_SIZE, deltas.size()));
+                failed += translationScheduler.callAs(TranslationPriority.BULK, job, abortRequested,
+                        () -> productTranslationService.translateAll(chunk, sourceLocale)).size();
+            }
+        } finally {
+            tokenBudgetService.finishJob(job);
+        }
+        translationWriter.flush();
+        if (aborted.get()) {
+            LOG.info("Cron job [{}] aborted", cronJob.getCode());
+            return new PerformResult(CronJobResult.UNKNOWN, CronJobStatus.ABORTED);
+        }
+
+        LOG.info("Cron job [{}] translated {} of {} changed products", cronJob.getCode(), deltas.size() - failed, deltas.size());
+        return new PerformResult(failed == 0 ? CronJobResult.SUCCESS : CronJobResult.ERROR, CronJobStatus.FINISHED);
+    }
+
+    @Override
+    public boolean isAbortable() {
+        return true;
+    }
+
+    private List<String> getTargetLanguages(final TranslationCronJobModel cronJob, final Locale sourceLocale) {
+        if (CollectionUtils.isEmpty(cronJob.getTargetLanguages())) {
+            return productTranslationService.getDefaultTargetLanguages(sourceLocale);
+        }
+        return cronJob.getTargetLanguages().stream()
+                .filter(language -> Boolean.TRUE.equals(language.getActive()))
+                .map(language -> commonI18NService.getLocaleForLanguage(language).toLanguageTag())
+                .filter(lang -> !lang.equals(sourceLocale.toLanguageTag()))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    public void setTranslationsAiService(final TranslationsAiService translationsAiService) {
+        this.translationsAiService = translationsAiService;
+    }
+
+    public void setTranslationStateService(final TranslationStateService translationStateService) {
+        this.translationStateService = translationStateService;
+    }
+
+    public void setProductTranslationService(final ProductTranslationService productTranslationService) {
+        this.productTranslationService = productTranslationService;
+    }
+
+    public void setTranslationWriter(final TranslationWriter translationWriter) {
+        this.translationWriter = translationWriter;
+    }
+
+    public void setTranslationScheduler(final TranslationScheduler translationScheduler) {
+        this.translationScheduler = translationScheduler;
+    }
+
+    public void setTokenBudgetService(final TokenBudgetService tokenBudgetService) {
+        this.tokenBudgetService = tokenBudgetService;
+    }
+
+    public void setCommonI18NService(final CommonI18NService commonI18NService) {
+        this.commonI18NService = commonI18NService;
+    }
+}
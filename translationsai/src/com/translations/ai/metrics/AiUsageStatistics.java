@@ -0,0 +1,132 @@
+package com.translations.ai.metrics;
+
+import com.translations.ai.dto.request.TokenEstimate;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local counters of AI requests and token usage since startup, as reported by the provider.
+ * Cached prompt tokens show how much of the prompts was served from the provider's prompt cache.
+ * Latency percentiles are computed over the most recent {@value #LATENCY_SAMPLES} successful requests.
+ * The usage of the last request is also kept per thread, so the caller can settle its token budget with it.
+ */
+public class AiUsageStatistics {
+
+    private static final int LATENCY_SAMPLES = 1000;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final AtomicLong overloads = new AtomicLong();
+    private final AtomicLong promptTokens = new AtomicLong();
+    private final AtomicLong cachedPromptTokens = new AtomicLong();
+    private final AtomicLong completionTokens = new AtomicLong();
+    private final ThreadLocal<TokenEstimate> lastUsage = new ThreadLocal<>();
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private int latencyCount;
+
+    /**
+     * Record the usage of a completed request.
+     *
+     * @param prompt     prompt tokens, including cached ones
+     * @param cached     prompt tokens served from the prompt cache
+     * @param completion completion tokens
+     */
+    public void recordUsage(final long prompt, final long cached, final long completion) {
+        requests.incrementAndGet();
+        promptTokens.addAndGet(prompt);
+        cachedPromptTokens.addAndGet(cached);
+        completionTokens.addAndGet(completion);
+        lastUsage.set(new TokenEstimate(prompt, completion));
+    }
+
+    /**
+     * Take the usage recorded for the last request of the calling thread.
+     *
+     * @return the reported usage, or null if no usage was recorded since the last call
+     */
+    public TokenEstimate takeLastUsage() {
+        final TokenEstimate usage = lastUsage.get();
+        lastUsage.remove();
+        return usage;
+    }
+
+    public void recordFailure() {
+        failedRequests.incrementAndGet();
+    }
+
+    /**
+     * Record a failed request that was rejected or timed out because the provider is overloaded.
+     */
+    public void recordOverload() {
+        failedRequests.incrementAndGet();
+        overloads.incrementAndGet();
+    }
+
+    /**
+     * @param latencyMs duration of a successful request
+     */
+    public synchronized void recordLatency(final long latencyMs) {
+        latencies[latencyCount++ % LATENCY_SAMPLES] = latencyMs;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency in ms of the recent requests at the percentile, 0 without requests
+     */
+    public synchronized long getLatencyPercentile(final double percentile) {
+        final int count = Math.min(latencyCount, LATENCY_SAMPLES);
+        if (count == 0) {
+            return 0L;
+        }
+        final long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(count - 1, Math.max(0, Math.ceil(percentile / 100d * count) - 1))];
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getFailedRequests() {
+        return failedRequests.get();
+    }
+
+    public long getOverloads() {
+        return overloads.get();
+    }
+
+    public long getPromptTokens() {
+        return promptTokens.get();
+    }
+
+    public long getCachedPromptTokens() {
+        return cachedPromptTokens.get();
+    }
+
+    public long getCompletionTokens() {
+        return completionTokens.get();
+    }
+
+    /**
+     * @return share of prompt tokens served from the prompt cache, between 0 and 1
+     */
+    public double getPromptCacheHitRate() {
+        final long prompt = promptTokens.get();
+        return prompt == 0 ? 0d : (double) cachedPromptTokens.get() / prompt;
+    }
+
+    /**
+     * Compute the spend of the recorded tokens.
+     *
+     * @param inputPrice       price per million uncached prompt tokens
+     * @param cachedInputPrice price per million cached prompt tokens
+     * @param outputPrice      price per million completion tokens
+     * @return the spend in the currency of the prices
+     */
+    public double getCost(final double inputPrice, final double cachedInputPrice, final double outputPrice) {
+        final long cached = cachedPromptTokens.get();
+        return ((promptTokens.get() - cached) * inputPrice + cached * cachedInputPrice + completionTokens.get() * outputPrice)
+                / 1_000_000d;
+    }
+}
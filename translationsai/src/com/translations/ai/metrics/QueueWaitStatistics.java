@@ -0,0 +1,49 @@
+package com.translations.ai.metrics;
+
+import com.translations.ai.concurrent.TranslationPriority;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local counters of the time AI requests waited for a slot of the
+ * {@link com.translations.ai.concurrent.TranslationScheduler}, per priority class since startup.
+ */
+public class QueueWaitStatistics {
+
+    private final Map<TranslationPriority, AtomicLong[]> counters = new EnumMap<>(TranslationPriority.class);
+
+    public QueueWaitStatistics() {
+        for (final TranslationPriority priority : TranslationPriority.values()) {
+            // admitted requests, total wait ms, max wait ms
+            counters.put(priority, new AtomicLong[]{new AtomicLong(), new AtomicLong(), new AtomicLong()});
+        }
+    }
+
+    /**
+     * Record the wait of an admitted request.
+     *
+     * @param priority the priority class of the request
+     * @param waitMs   time between submission and admission
+     */
+    public void recordWait(final TranslationPriority priority, final long waitMs) {
+        final AtomicLong[] c = counters.get(priority);
+        c[0].incrementAndGet();
+        c[1].addAndGet(waitMs);
+        c[2].accumulateAndGet(waitMs, Math::max);
+    }
+
+    public long getAdmitted(final TranslationPriority priority) {
+        return counters.get(priority)[0].get();
+    }
+
+    public long getMaxWaitMs(final TranslationPriority priority) {
+        return counters.get(priority)[2].get();
+    }
+
+    public double getAverageWaitMs(final TranslationPriority priority) {
+        final long admitted = getAdmitted(priority);
+        return admitted == 0 ? 0d : (double) counters.get(priority)[1].get() / admitted;
+    }
+}
@@ -0,0 +1,129 @@
+package com.translations.ai.queue;
+
+import de.hybris.platform.core.PK;
+import de.hybris.platform.core.Tenant;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import de.hybris.platform.servicelayer.model.ModelService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.translations.ai.concurrent.TenantSessionRunner;
+import com.translations.ai.concurrent.TranslationPriority;
+import com.translations.ai.concurrent.TranslationScheduler;
+import com.translations.ai.service.TranslationQueueService;
+import com.translations.model.TranslationQueueEntryModel;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded background consumer of the translation queue.
+ * <p>
+ * A single poller claims due entries every {@code translationsai.queue.poll.ms}, but never more than there are idle
+ * workers ({@code translationsai.queue.consumer.threads}), so claimed entries never wait in memory and AI load stays
+ * bounded no matter how many products are saved. Workers run as admin in their own session of the owning tenant
+ * (see {@link TenantSessionRunner}); their AI requests are scheduled as {@link TranslationPriority#EVENT}. No entries
+ * are claimed while background processing is paused in the {@link TranslationScheduler}.
+ */
+public class TranslationQueueConsumer {
+    private static final Logger LOG = LoggerFactory.getLogger(TranslationQueueConsumer.class);
+
+    private static final String CONFIG_THREADS = "translationsai.queue.consumer.threads";
+    private static final String CONFIG_POLL_MS = "translationsai.queue.poll.ms";
+    private static final String OWNER = "translationQueue";
+
+    private TranslationQueueService translationQueueService;
+    private ModelService modelService;
+    private TenantSessionRunner tenantSessionRunner;
+    private TranslationScheduler translationScheduler;
+    private ConfigurationService configurationService;
+
+    private Tenant tenant;
+    private Semaphore idleWorkers;
+    private ScheduledExecutorService poller;
+    private ExecutorService workers;
+
+    public void start() {
+        tenant = tenantSessionRunner.currentTenant();
+        final int threads = Math.max(1, configurationService.getConfiguration().getInt(CONFIG_THREADS, 2));
+        final long pollMs = Math.max(1000L, configurationService.getConfiguration().getLong(CONFIG_POLL_MS, 10000L));
+        idleWorkers = new Semaphore(threads);
+        workers = Executors.newFixedThreadPool(threads, TenantSessionRunner.namedThreads("translationsai-queue-worker-"));
+        poller = Executors.newSingleThreadScheduledExecutor(TenantSessionRunner.namedThreads("translationsai-queue-poller"));
+        poller.scheduleWithFixedDelay(this::poll, pollMs, pollMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        if (workers != null) {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void poll() {
+        try {
+            final int idle = idleWorkers.availablePermits();
+            if (idle == 0 || translationScheduler.isBackgroundPaused()) {
+                return;
+            }
+            final List<PK> claimed = tenantSessionRunner.run(tenant, () -> {
+                if (!translationQueueService.isEnabled()) {
+                    return Collections.<PK>emptyList();
+                }
+                return translationQueueService.claimDueEntries(idle).stream()
+                        .map(TranslationQueueEntryModel::getPk)
+                        .collect(Collectors.toList());
+            });
+            for (final PK pk : claimed) {
+                idleWorkers.acquireUninterruptibly();
+                workers.execute(() -> {
+                    try {
+                        tenantSessionRunner.run(tenant, () -> translationScheduler.callAs(TranslationPriority.EVENT, OWNER, () -> {
+                            translationQueueService.process(modelService.get(pk));
+                            return null;
+                        }));
+                    } catch (final RuntimeException e) {
+                        LOG.error("Processing of translation queue entry [{}] failed", pk, e);
+                    } finally {
+                        idleWorkers.release();
+                    }
+                });
+            }
+        } catch (final RuntimeException e) {
+            // keep the schedule alive, e.g. while the system is being initialized
+            LOG.warn("Polling the translation queue failed: {}", e.getMessage());
+        }
+    }
+
+    public void setTranslationQueueService(final TranslationQueueService translationQueueService) {
+        this.translationQueueService = translationQueueService;
+    }
+
+    public void setModelService(final ModelService modelService) {
+        this.modelService = modelService;
+    }
+
+    public void setTenantSessionRunner(final TenantSessionRunner tenantSessionRunner) {
+        this.tenantSessionRunner = tenantSessionRunner;
+    }
+
+    public void setTranslationScheduler(final TranslationScheduler translationScheduler) {
+        this.translationScheduler = translationScheduler;
+    }
+
+    public void setConfigurationService(final ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+}
@@ -0,0 +1,55 @@
+package com.translations.ai.service;
+
+import de.hybris.platform.core.model.product.ProductModel;
+import com.translations.ai.dto.bulk.BulkTranslationProgress;
+import com.translations.ai.dto.request.TokenEstimate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Background translation of an explicit selection of products, e.g. a multi-selection in the backoffice list view.
+ * Tasks run asynchronously with bounded parallelism ({@code translationsai.bulk.threads}) and report live progress.
+ * Each task has its own token budget ({@code translationsai.budget.job.maxTokens}).
+ */
+public interface BulkTranslationService {
+    /**
+     * Submit products for background translation. Translations are applied without preview.
+     *
+     * @param products        the products to translate
+     * @param sourceLocale    locale of the source description
+     * @param targetLanguages IETF BCP 47 tags of the target languages
+     * @return progress of the submitted task; its id can be used with {@link #getProgress(String)}
+     */
+    BulkTranslationProgress submit(Collection<ProductModel> products, Locale sourceLocale, List<String> targetLanguages);
+
+    /**
+     * Estimate the AI requests and tokens a task would use, without calling the AI (dry run).
+     *
+     * @param products        the products to translate
+     * @param sourceLocale    locale of the source description
+     * @param targetLanguages IETF BCP 47 tags of the target languages
+     * @return the estimate
+     */
+    TokenEstimate estimate(Collection<ProductModel> products, Locale sourceLocale, List<String> targetLanguages);
+
+    /**
+     * @param taskId the id of a submitted task
+     * @return the progress of the task, or null if unknown or expired
+     */
+    BulkTranslationProgress getProgress(String taskId);
+
+    /**
+     * @return running tasks and tasks finished within the retention time, most recent first
+     */
+    List<BulkTranslationProgress> getTasks();
+
+    /**
+     * Cancel a task. Products already being translated are completed; their AI requests still waiting for a slot, e.g.
+     * while background translation is paused, fail.
+     *
+     * @param taskId the id of a submitted task
+     */
+    void cancel(String taskId);
+}
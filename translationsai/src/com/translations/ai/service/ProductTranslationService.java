@@ -0,0 +1,56 @@
+package com.translations.ai.service;
+
+import com.translations.ai.dto.bulk.ProductTranslationDelta;
+import com.translations.ai.dto.request.TokenEstimate;
+import com.translations.ai.exception.AiClientException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Unattended translation of products: translates the stale languages of a product and applies the result without
+ * an editor preview. Used by the background paths (scheduled jobs, translation queue).
+ */
+public interface ProductTranslationService {
+    /**
+     * Translate the configured localized attributes ({@code translationsai.attributes}) of a product into the
+     * languages of the delta in one request, save the translated values and record the translation state.
+     *
+     * @param delta        the product and its stale target languages
+     * @param sourceLocale locale of the source description
+     * @return IETF BCP 47 tags of the languages that were applied
+     * @throws AiClientException if the AI call fails or returns none of the requested languages
+     */
+    Collection<String> translate(ProductTranslationDelta delta, Locale sourceLocale) throws AiClientException;
+
+    /**
+     * Translate several deltas and hand the results to the {@link TranslationWriter}, which persists them in batches.
+     * Deltas with the same target languages are packed into shared AI requests when
+     * {@code translationsai.packing.enabled} is true; a failing product does not affect the others, except that all
+     * remaining deltas fail without a request once the job or daily token budget is used up. Returns once the
+     * translations are saved.
+     *
+     * @param deltas       the products and their stale target languages
+     * @param sourceLocale locale of the source description
+     * @return the deltas that could not be translated or saved
+     */
+    List<ProductTranslationDelta> translateAll(List<ProductTranslationDelta> deltas, Locale sourceLocale);
+
+    /**
+     * Estimate the AI requests and tokens {@link #translateAll(List, Locale)} would use, without calling the AI.
+     *
+     * @param deltas       the products and their stale target languages
+     * @param sourceLocale locale of the source description
+     * @return the estimate
+     */
+    TokenEstimate estimateAll(List<ProductTranslationDelta> deltas, Locale sourceLocale);
+
+    /**
+     * Default target languages for unattended translation: all active languages except the source language.
+     *
+     * @param sourceLocale locale of the source description
+     * @return IETF BCP 47 tags of the target languages
+     */
+    List<String> getDefaultTargetLanguages(Locale sourceLocale);
+}
@@ -0,0 +1,63 @@
+package com.translations.ai.service;
+
+import com.translations.ai.dto.request.TokenEstimate;
+import com.translations.ai.exception.TokenBudgetExceededException;
+
+/**
+ * Admission control by token budgets, checked against local estimates before a request is sent.
+ * <p>
+ * Three budgets apply, each disabled when set to 0: per request ({@code translationsai.budget.request.maxTokens}),
+ * per job ({@code translationsai.budget.job.maxTokens}, for jobs registered with {@link #startJob(String)}) and per
+ * day and node ({@code translationsai.budget.daily.maxTokens}). Once a request finished, its reservation is settled with
+ * the usage reported by the provider.
+ */
+public interface TokenBudgetService {
+    /**
+     * Check a request against all budgets and charge its estimate to the job and daily budgets.
+     *
+     * @param estimate the estimate of the request
+     * @param job      the job the request belongs to, may be null
+     * @throws TokenBudgetExceededException if the request would exceed a budget; nothing is charged then
+     */
+    void reserve(TokenEstimate estimate, String job) throws TokenBudgetExceededException;
+
+    /**
+     * Replace the estimate charged for a finished request with its actual usage.
+     *
+     * @param reserved the estimate passed to {@link #reserve}
+     * @param used     the usage reported by the provider, or null to refund a request that failed or was cancelled
+     * @param job      the job passed to {@link #reserve}, may be null
+     */
+    void settle(TokenEstimate reserved, TokenEstimate used, String job);
+
+    /**
+     * Start charging requests of a job to a fresh job budget.
+     *
+     * @param job the job, e.g. a bulk task or cron job
+     */
+    void startJob(String job);
+
+    /**
+     * Stop tracking a job.
+     *
+     * @param job the job
+     */
+    void finishJob(String job);
+
+    /**
+     * @param job the job, may be null
+     * @return true if the job or daily budget is used up, so further requests of the job would be rejected
+     */
+    boolean isExhausted(String job);
+
+    /**
+     * @return tokens charged today on this node; requests still in flight are counted with their estimate
+     */
+    long getDailyTokens();
+
+    /**
+     * @param job the job
+     * @return tokens charged to the job, 0 if it is not tracked; requests still in flight are counted with their estimate
+     */
+    long getJobTokens(String job);
+}
@@ -0,0 +1,53 @@
+package com.translations.ai.service;
+
+import de.hybris.platform.core.model.product.ProductModel;
+import com.translations.model.TranslationQueueEntryModel;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Persistent work queue for background translation of products whose source description changed.
+ * <p>
+ * Saves of the same product within the debounce window (property {@code translationsai.queue.debounce.ms}) are
+ * coalesced into one queue entry; the entry becomes due once the product has not been saved for that long, but no
+ * later than {@code translationsai.queue.maxDelay.ms} after the first save.
+ */
+public interface TranslationQueueService {
+    /**
+     * Create or refresh the queue entry of a product. The entry is returned unsaved so that callers such as
+     * interceptors can persist it together with the product.
+     *
+     * @param product      the product whose source description changed
+     * @param sourceLocale locale of the changed source description
+     * @return the new or updated queue entry
+     */
+    TranslationQueueEntryModel enqueue(ProductModel product, Locale sourceLocale);
+
+    /**
+     * Claim due entries for processing by marking them as in progress. Each entry is claimed atomically, so entries
+     * claimed by another cluster node at the same time are left out.
+     *
+     * @param max maximum number of entries to claim
+     * @return the claimed entries
+     */
+    List<TranslationQueueEntryModel> claimDueEntries(int max);
+
+    /**
+     * Translate the stale languages of a claimed entry. The entry is removed on success, and also if its product
+     * no longer exists; on failure it is rescheduled with a back-off, or marked as failed once {@code translationsai.queue.maxAttempts} is reached.
+     *
+     * @param entry the claimed entry
+     */
+    void process(TranslationQueueEntryModel entry);
+
+    /**
+     * @return number of entries waiting to be processed
+     */
+    int countOpenEntries();
+
+    /**
+     * @return true if save-triggered queueing is enabled
+     */
+    boolean isEnabled();
+}
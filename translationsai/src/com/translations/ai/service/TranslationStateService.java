@@ -0,0 +1,65 @@
+package com.translations.ai.service;
+
+import de.hybris.platform.catalog.model.CatalogVersionModel;
+import de.hybris.platform.core.model.product.ProductModel;
+import com.translations.ai.dto.bulk.ProductTranslationDelta;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tracks which source each translation was produced from, so that only products whose source text changed since
+ * their last translation are re-translated. The source consists of all configured localized attributes
+ * ({@code translationsai.attributes}).
+ */
+public interface TranslationStateService {
+    /**
+     * Find the products of a catalog version whose translations are missing or stale for any of the target languages.
+     *
+     * @param catalogVersion  the catalog version to search
+     * @param sourceLocale    locale of the source description
+     * @param targetLanguages IETF BCP 47 tags of the target languages
+     * @return one delta per product that needs work, holding only the stale languages
+     */
+    List<ProductTranslationDelta> findChangedProducts(CatalogVersionModel catalogVersion, Locale sourceLocale,
+                                                      List<String> targetLanguages);
+
+    /**
+     * Determine the target languages whose translation of a product is missing or stale.
+     *
+     * @param product         the product
+     * @param sourceLocale    locale of the source description
+     * @param targetLanguages IETF BCP 47 tags of the target languages
+     * @return the stale languages, in the order requested; empty if all source attributes are blank
+     */
+    List<String> getStaleLanguages(ProductModel product, Locale sourceLocale, List<String> targetLanguages);
+
+    /**
+     * Record that the given target languages were translated from the current source description of the product.
+     * Must be called after the translated values were saved, so that enhanced source descriptions are hashed as saved.
+     *
+     * @param product         the product
+     * @param sourceLocale    locale of the source description
+     * @param targetLanguages IETF BCP 47 tags of the translated languages
+     */
+    void markTranslated(ProductModel product, Locale sourceLocale, Collection<String> targetLanguages);
+
+    /**
+     * Record that the given target languages were translated from the source with the given hash. Used by
+     * write-behind paths, where the source may have been edited between the AI request and the save.
+     *
+     * @param product         the product
+     * @param sourceLocale    locale of the source description
+     * @param targetLanguages IETF BCP 47 tags of the translated languages
+     * @param sourceHash      hash of the source the translations were produced from, see {@link #getSourceHash}
+     */
+    void markTranslated(ProductModel product, Locale sourceLocale, Collection<String> targetLanguages, String sourceHash);
+
+    /**
+     * @param product      the product
+     * @param sourceLocale locale of the source description
+     * @return the hash of the current source of the product, or null if it is blank
+     */
+    String getSourceHash(ProductModel product, Locale sourceLocale);
+}
@@ -0,0 +1,57 @@
+package com.translations.ai.service;
+
+import de.hybris.platform.core.model.product.ProductModel;
+import com.translations.ai.dto.response.Translation;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Write-behind persistence of accepted translations for bulk paths.
+ * <p>
+ * Translations are buffered per product and persisted in batches: a batch is flushed once it holds
+ * {@code translationsai.writer.batchSize} products or after {@code translationsai.writer.flush.ms}, whichever comes
+ * first. Each batch is saved with one {@code saveAll} in a single transaction; values equal to the stored ones are
+ * not written. Callers learn the outcome per product from the future returned by {@link #write}.
+ */
+public interface TranslationWriter {
+    /**
+     * Buffer translations of a product. A later write for the same product, attribute and language replaces the
+     * buffered value.
+     *
+     * @param product      the product
+     * @param sourceLocale locale of the source the translations were produced from
+     * @param sourceHash   hash of the source as sent to the AI, recorded as translation state once saved
+     * @param translations the accepted translations per localized attribute qualifier
+     * @return completed with true once the product is saved (or unchanged), false if saving it failed
+     */
+    CompletableFuture<Boolean> write(ProductModel product, Locale sourceLocale, String sourceHash,
+                                     Map<String, ? extends Collection<Translation>> translations);
+
+    /**
+     * Persist all buffered translations now.
+     */
+    void flush();
+
+    /**
+     * @return number of products currently buffered
+     */
+    int getBufferedCount();
+
+    /**
+     * @return number of products saved since startup
+     */
+    long getWrittenCount();
+
+    /**
+     * @return number of products whose buffered values were all unchanged and therefore not saved
+     */
+    long getSkippedCount();
+
+    /**
+     * @return number of products that could not be saved
+     */
+    long getFailedCount();
+}
@@ -1,12 +1,15 @@
 package com.translations.ai.service;
 
 import de.hybris.platform.core.model.product.ProductModel;
+import com.translations.ai.dto.options.AiClientOptions;
 import com.translations.ai.dto.options.PromptOptions;
+import com.translations.ai.dto.request.TokenEstimate;
 import com.translations.ai.dto.response.Translation;
 import com.translations.ai.exception.AiClientException;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * Service for AI-powered product description translation and enhancement.
@@ -25,10 +28,80 @@ public interface TranslationsAiService {
      */
     List<Translation> translateDescription(ProductModel product, Locale locale, PromptOptions options) throws AiClientException;
 
+    /**
+     * Translate and eventually enhance several localized attributes of a product (e.g., name, summary, description)
+     * together in one AI request.
+     *
+     * @param product the product whose attributes should be enhanced/translated
+     * @param locale  the base (source) locale
+     * @param options options for customizing the AI prompt; {@link PromptOptions#getAttributes()} selects the
+     *                attributes, falling back to the configured {@code translationsai.attributes}
+     * @return language-tagged suggestions per attribute qualifier, in attribute order; attributes without a source
+     * value in the base locale are left out
+     * @throws AiClientException if the AI call fails or none of the attributes has a source value
+     */
+    Map<String, List<Translation>> translateAttributes(ProductModel product, Locale locale, PromptOptions options)
+            throws AiClientException;
+
+    /**
+     * Translate the descriptions of several products with the same options. Descriptions are packed into as few AI
+     * requests as the token budget ({@code translationsai.packing.maxTokens}) and pack size
+     * ({@code translationsai.packing.maxProducts}) allow, so short descriptions share the per-request overhead.
+     *
+     * @param products the products whose descriptions should be translated
+     * @param locale   the base (source) locale
+     * @param options  options for customizing the AI prompt including target languages and mode
+     * @return language-tagged suggestions per product, in input order; products with a blank description, products
+     * left out by the model and products of a failed request are missing, as are all products after the job or daily
+     * token budget is used up
+     * @throws AiClientException if the feature is not enabled
+     */
+    Map<ProductModel, List<Translation>> translateDescriptions(List<ProductModel> products, Locale locale, PromptOptions options)
+            throws AiClientException;
+
+    /**
+     * Estimate the tokens {@link #translateDescriptions(List, Locale, PromptOptions)} would use, with the same packing
+     * and the local tokenizer, without calling the AI (dry run).
+     *
+     * @param products the products whose descriptions would be translated
+     * @param locale   the base (source) locale
+     * @param options  options for customizing the AI prompt including target languages and mode
+     * @return the estimated requests and tokens, excluding follow-up requests
+     */
+    TokenEstimate estimateDescriptions(List<ProductModel> products, Locale locale, PromptOptions options);
+
+    /**
+     * Estimate the tokens {@link #translateAttributes(ProductModel, Locale, PromptOptions)} would use, without calling
+     * the AI (dry run).
+     *
+     * @param product the product whose attributes would be translated
+     * @param locale  the base (source) locale
+     * @param options options for customizing the AI prompt including target languages and mode
+     * @return the estimated requests and tokens, excluding follow-up requests; empty if no attribute has a source value
+     */
+    TokenEstimate estimateAttributes(ProductModel product, Locale locale, PromptOptions options);
+
+    /**
+     * @return qualifiers of the localized attributes translated together ({@code translationsai.attributes})
+     */
+    List<String> getAttributes();
+
+    /**
+     * @return model ({@code translationsai.openai.model}) and timeout ({@code translationsai.timeout.ms}) of the AI
+     * requests of this service
+     */
+    AiClientOptions getClientOptions();
+
     /**
      * Check if the AI enhancement feature is enabled
      *
      * @return true if enabled, false otherwise
      */
     boolean isEnabled();
+
+    /**
+     * Run prompt building, masking, token estimation and response mapping once on sample data without calling the AI
+     * provider, so that templates, tokenizer encodings and code paths are loaded before the first real request.
+     */
+    void warmUp();
 }
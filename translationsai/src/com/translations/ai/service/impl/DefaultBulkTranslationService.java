@@ -0,0 +1,221 @@
+package com.translations.ai.service.impl;
+
+import de.hybris.platform.core.PK;
+import de.hybris.platform.core.Tenant;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import de.hybris.platform.servicelayer.model.ModelService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.translations.ai.concurrent.TenantSessionRunner;
+import com.translations.ai.concurrent.TranslationPriority;
+import com.translations.ai.concurrent.TranslationScheduler;
+import com.translations.ai.dto.bulk.BulkTranslationProgress;
+import com.translations.ai.dto.bulk.ProductTranslationDelta;
+import com.translations.ai.dto.request.TokenEstimate;
+import com.translations.ai.service.BulkTranslationService;
+import com.translations.ai.service.ProductTranslationService;
+import com.translations.ai.service.TokenBudgetService;
+import com.translations.ai.service.TranslationWriter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Default implementation of {@link BulkTranslationService}.
+ * <p>
+ * A task is split into chunks of {@code translationsai.bulk.chunkSize} products, which are packed into shared AI
+ * requests by {@link ProductTranslationService#translateAll}. Chunks of all tasks share one worker pool; their AI
+ * requests are scheduled as {@link TranslationPriority#BULK} with the task as owner, so concurrent tasks get a fair
+ * share of the slots the {@link TranslationScheduler} leaves to bulk work. Each task is a job of the
+ * {@link TokenBudgetService}; once its budget is used up, its remaining chunks fail without calling the AI.
+ * Translations are persisted through the {@link TranslationWriter}, which is flushed when a task finishes. Progress is
+ * kept in memory for {@code translationsai.bulk.retention.ms} after a task finished.
+ */
+public class DefaultBulkTranslationService implements BulkTranslationService {
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultBulkTranslationService.class);
+
+    private static final String CONFIG_THREADS = "translationsai.bulk.threads";
+    private static final String CONFIG_CHUNK_SIZE = "translationsai.bulk.chunkSize";
+    private static final String CONFIG_RETENTION_MS = "translationsai.bulk.retention.ms";
+
+    private final Map<String, BulkTranslationProgress> tasks = new ConcurrentHashMap<>();
+
+    private ProductTranslationService productTranslationService;
+    private TranslationWriter translationWriter;
+    private ModelService modelService;
+    private TenantSessionRunner tenantSessionRunner;
+    private TranslationScheduler translationScheduler;
+    private TokenBudgetService tokenBudgetService;
+    private ConfigurationService configurationService;
+
+    private Tenant tenant;
+    private ExecutorService workers;
+
+    public void init() {
+        tenant = tenantSessionRunner.currentTenant();
+        final int threads = Math.max(1, configurationService.getConfiguration().getInt(CONFIG_THREADS, 4));
+        workers = Executors.newFixedThreadPool(threads, TenantSessionRunner.namedThreads("translationsai-bulk-worker-"));
+    }
+
+    public void destroy() {
+        workers.shutdownNow();
+        try {
+            workers.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public BulkTranslationProgress submit(final Collection<ProductModel> products, final Locale sourceLocale,
+                                          final List<String> targetLanguages) {
+        evictExpired();
+        final List<PK> pks = products.stream().map(ProductModel::getPk).distinct().collect(Collectors.toList());
+        final BulkTranslationProgress progress = new BulkTranslationProgress(UUID.randomUUID().toString(), pks.size());
+        tasks.put(progress.getTaskId(), progress);
+        tokenBudgetService.startJob(getJob(progress));
+        if (pks.isEmpty()) {
+            tokenBudgetService.finishJob(getJob(progress));
+            progress.finish(BulkTranslationProgress.Status.FINISHED);
+            return progress;
+        }
+
+        final int chunkSize = Math.max(1, configurationService.getConfiguration().getInt(CONFIG_CHUNK_SIZE, 20));
+        final AtomicInteger remainingChunks = new AtomicInteger((pks.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < pks.size(); from += chunkSize) {
+            final List<PK> chunk = new ArrayList<>(pks.subList(from, Math.min(from + chunkSize, pks.size())));
+            workers.execute(() -> {
+                try {
+                    if (progress.getStatus() == BulkTranslationProgress.Status.RUNNING) {
+                        translateChunk(chunk, sourceLocale, targetLanguages, progress);
+                    }
+                } finally {
+                    if (remainingChunks.decrementAndGet() == 0) {
+                        tokenBudgetService.finishJob(getJob(progress));
+                        if (progress.getStatus() == BulkTranslationProgress.Status.RUNNING) {
+                            flush();
+                            progress.finish(BulkTranslationProgress.Status.FINISHED);
+                            LOG.info("Bulk translation [{}] finished: {} translated, {} failed",
+                                    progress.getTaskId(), progress.getTranslated(), progress.getFailed());
+                        }
+                    }
+                }
+            });
+        }
+        LOG.info("Bulk translation [{}] submitted for {} products", progress.getTaskId(), pks.size());
+        return progress;
+    }
+
+    @Override
+    public TokenEstimate estimate(final Collection<ProductModel> products, final Locale sourceLocale, final List<String> targetLanguages) {
+        final List<ProductTranslationDelta> deltas = products.stream()
+                .distinct()
+                .map(product -> new ProductTranslationDelta(product, targetLanguages))
+                .collect(Collectors.toList());
+        return productTranslationService.estimateAll(deltas, sourceLocale);
+    }
+
+    @Override
+    public BulkTranslationProgress getProgress(final String taskId) {
+        return tasks.get(taskId);
+    }
+
+    @Override
+    public List<BulkTranslationProgress> getTasks() {
+        evictExpired();
+        return tasks.values().stream()
+                .sorted(Comparator.comparingLong(BulkTranslationProgress::getStartedAt).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void cancel(final String taskId) {
+        final BulkTranslationProgress progress = tasks.get(taskId);
+        if (progress != null && progress.getStatus() == BulkTranslationProgress.Status.RUNNING) {
+            progress.finish(BulkTranslationProgress.Status.CANCELLED);
+        }
+    }
+
+    private void translateChunk(final List<PK> chunk, final Locale sourceLocale, final List<String> targetLanguages,
+                                final BulkTranslationProgress progress) {
+        if (tokenBudgetService.isExhausted(getJob(progress))) {
+            LOG.warn("Bulk translation [{}] skips a chunk of {} products: token budget used up", progress.getTaskId(), chunk.size());
+            progress.addFailed(chunk.size());
+            return;
+        }
+        try {
+            final int failed = tenantSessionRunner.run(tenant, () -> translationScheduler.callAs(TranslationPriority.BULK,
+                    getJob(progress), () -> progress.getStatus() != BulkTranslationProgress.Status.RUNNING, () -> {
+                        final List<ProductTranslationDelta> deltas = chunk.stream()
+                                .map(pk -> new ProductTranslationDelta(modelService.<ProductModel>get(pk), targetLanguages))
+                                .collect(Collectors.toList());
+                        return productTranslationService.translateAll(deltas, sourceLocale).size();
+                    }));
+            progress.addFailed(failed);
+            progress.addTranslated(chunk.size() - failed);
+        } catch (final RuntimeException e) {
+            LOG.error("Bulk translation [{}] failed for a chunk of {} products", progress.getTaskId(), chunk.size(), e);
+            progress.addFailed(chunk.size());
+        }
+    }
+
+    private static String getJob(final BulkTranslationProgress progress) {
+        return "bulk:" + progress.getTaskId();
+    }
+
+    private void flush() {
+        try {
+            tenantSessionRunner.run(tenant, () -> {
+                translationWriter.flush();
+                return null;
+            });
+        } catch (final RuntimeException e) {
+            LOG.error("Flushing translations failed", e);
+        }
+    }
+
+    private void evictExpired() {
+        final long expiry = System.currentTimeMillis() - configurationService.getConfiguration().getLong(CONFIG_RETENTION_MS, 3600000L);
+        tasks.values().removeIf(task -> task.getStatus() != BulkTranslationProgress.Status.RUNNING && task.getFinishedAt() < expiry);
+    }
+
+    public void setProductTranslationService(final ProductTranslationService productTranslationService) {
+        this.productTranslationService = productTranslationService;
+    }
+
+    public void setTranslationWriter(final TranslationWriter translationWriter) {
+        this.translationWriter = translationWriter;
+    }
+
+    public void setModelService(final ModelService modelService) {
+        this.modelService = modelService;
+    }
+
+    public void setTenantSessionRunner(final TenantSessionRunner tenantSessionRunner) {
+        this.tenantSessionRunner = tenantSessionRunner;
+    }
+
+    public void setTranslationScheduler(final TranslationScheduler translationScheduler) {
+        this.translationScheduler = translationScheduler;
+    }
+
+    public void setTokenBudgetService(final TokenBudgetService tokenBudgetService) {
+        this.tokenBudgetService = tokenBudgetService;
+    }
+
+    public void setConfigurationService(final ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+}
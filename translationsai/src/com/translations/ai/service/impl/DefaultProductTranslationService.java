@@ -0,0 +1,252 @@
+package com.translations.ai.service.impl;
+
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import de.hybris.platform.servicelayer.i18n.CommonI18NService;
+import de.hybris.platform.servicelayer.model.ModelService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.translations.ai.dto.bulk.ProductTranslationDelta;
+import com.translations.ai.dto.options.PromptOptions;
+import com.translations.ai.dto.request.TokenEstimate;
+import com.translations.ai.dto.response.Translation;
+import com.translations.ai.exception.AiClientException;
+import com.translations.ai.exception.TokenBudgetExceededException;
+import com.translations.ai.service.ProductTranslationService;
+import com.translations.ai.service.TranslationStateService;
+import com.translations.ai.service.TranslationWriter;
+import com.translations.ai.service.TranslationsAiService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Default implementation of {@link ProductTranslationService}.
+ * Runs in translate-only mode, so the source description itself is never rewritten by unattended translation.
+ * Products are translated with all configured localized attributes ({@code translationsai.attributes}) in one
+ * request. If only the description is configured, bulk translation via {@link #translateAll} can pack the descriptions
+ * of several products into shared requests.
+ */
+public class DefaultProductTranslationService implements ProductTranslationService {
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultProductTranslationService.class);
+
+    private static final String CONFIG_PACKING_ENABLED = "translationsai.packing.enabled";
+
+    private TranslationsAiService translationsAiService;
+    private TranslationStateService translationStateService;
+    private ModelService modelService;
+    private CommonI18NService commonI18NService;
+    private ConfigurationService configurationService;
+    private TranslationWriter translationWriter;
+
+    @Override
+    public Collection<String> translate(final ProductTranslationDelta delta, final Locale sourceLocale) throws AiClientException {
+        final ProductModel product = delta.getProduct();
+
+        final String sourceHash = translationStateService.getSourceHash(product, sourceLocale);
+        final Map<String, List<Translation>> translations =
+                translationsAiService.translateAttributes(product, sourceLocale, buildOptions(sourceLocale, delta.getTargetLanguages()));
+        return apply(delta, translations, sourceLocale, sourceHash);
+    }
+
+    @Override
+    public List<ProductTranslationDelta> translateAll(final List<ProductTranslationDelta> deltas, final Locale sourceLocale) {
+        final List<ProductTranslationDelta> failed = new ArrayList<>();
+        final Map<ProductTranslationDelta, CompletableFuture<Boolean>> saves = new LinkedHashMap<>();
+        final boolean descriptionOnly = isDescriptionOnly();
+        final boolean packing = descriptionOnly && configurationService.getConfiguration().getBoolean(CONFIG_PACKING_ENABLED, false);
+        boolean budgetUsedUp = false;
+
+        for (final Map.Entry<List<String>, List<ProductTranslationDelta>> group : groupByTargets(deltas).entrySet()) {
+            if (budgetUsedUp) {
+                failed.addAll(group.getValue());
+                continue;
+            }
+            final PromptOptions options = buildOptions(sourceLocale, group.getKey());
+            final List<ProductModel> products = group.getValue().stream()
+                    .map(ProductTranslationDelta::getProduct)
+                    .collect(Collectors.toList());
+            // hashed before the request, so an edit made while it runs leaves the product stale
+            final Map<ProductModel, String> sourceHashes = new LinkedHashMap<>();
+            products.forEach(product -> sourceHashes.put(product, translationStateService.getSourceHash(product, sourceLocale)));
+            final Map<ProductModel, List<Translation>> translations = packing
+                    ? translationsAiService.translateDescriptions(products, sourceLocale, options)
+                    : Collections.emptyMap();
+            for (final ProductTranslationDelta delta : group.getValue()) {
+                if (budgetUsedUp) {
+                    failed.add(delta);
+                    continue;
+                }
+                try {
+                    final Map<String, List<Translation>> accepted;
+                    if (!descriptionOnly) {
+                        accepted = accepted(delta, translationsAiService.translateAttributes(delta.getProduct(), sourceLocale, options));
+                    } else if (packing) {
+                        accepted = acceptedDescription(delta, translations.get(delta.getProduct()));
+                    } else {
+                        accepted = acceptedDescription(delta,
+                                translationsAiService.translateDescription(delta.getProduct(), sourceLocale, options));
+                    }
+                    if (accepted.isEmpty()) {
+                        throw new AiClientException("No translations returned for product " + delta.getProduct().getCode());
+                    }
+                    saves.put(delta, translationWriter.write(delta.getProduct(), sourceLocale,
+                            sourceHashes.get(delta.getProduct()), accepted));
+                } catch (final TokenBudgetExceededException e) {
+                    LOG.warn("Translation of product [{}] rejected: {}", delta.getProduct().getCode(), e.getMessage());
+                    failed.add(delta);
+                    budgetUsedUp = e.isUsedUp();
+                } catch (final RuntimeException e) {
+                    LOG.error("Translation of product [{}] failed", delta.getProduct().getCode(), e);
+                    failed.add(delta);
+                }
+            }
+        }
+
+        // a product only counts as translated once it is saved
+        translationWriter.flush();
+        saves.forEach((delta, saved) -> {
+            if (!saved.join()) {
+                failed.add(delta);
+            }
+        });
+        return failed;
+    }
+
+    @Override
+    public TokenEstimate estimateAll(final List<ProductTranslationDelta> deltas, final Locale sourceLocale) {
+        final TokenEstimate estimate = new TokenEstimate();
+        final boolean descriptionOnly = isDescriptionOnly();
+        final boolean packing = descriptionOnly && configurationService.getConfiguration().getBoolean(CONFIG_PACKING_ENABLED, false);
+        for (final Map.Entry<List<String>, List<ProductTranslationDelta>> group : groupByTargets(deltas).entrySet()) {
+            final PromptOptions options = buildOptions(sourceLocale, group.getKey());
+            final List<ProductModel> products = group.getValue().stream()
+                    .map(ProductTranslationDelta::getProduct)
+                    .collect(Collectors.toList());
+            if (packing) {
+                estimate.add(translationsAiService.estimateDescriptions(products, sourceLocale, options));
+            } else if (!descriptionOnly) {
+                products.forEach(product -> estimate.add(translationsAiService.estimateAttributes(product, sourceLocale, options)));
+            } else {
+                products.forEach(product -> estimate.add(
+                        translationsAiService.estimateDescriptions(Collections.singletonList(product), sourceLocale, options)));
+            }
+        }
+        return estimate;
+    }
+
+    private boolean isDescriptionOnly() {
+        return Collections.singletonList(ProductModel.DESCRIPTION).equals(translationsAiService.getAttributes());
+    }
+
+    /**
+     * Only products with the same target languages can share a prompt.
+     */
+    private static Map<List<String>, List<ProductTranslationDelta>> groupByTargets(final List<ProductTranslationDelta> deltas) {
+        return deltas.stream()
+                .collect(Collectors.groupingBy(ProductTranslationDelta::getTargetLanguages, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    @Override
+    public List<String> getDefaultTargetLanguages(final Locale sourceLocale) {
+        return commonI18NService.getAllLanguages().stream()
+                .filter(language -> Boolean.TRUE.equals(language.getActive()))
+                .map(language -> commonI18NService.getLocaleForLanguage(language).toLanguageTag())
+                .filter(lang -> !lang.equals(sourceLocale.toLanguageTag()))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private Collection<String> apply(final ProductTranslationDelta delta, final Map<String, List<Translation>> translations,
+                                     final Locale sourceLocale, final String sourceHash) {
+        final ProductModel product = delta.getProduct();
+        final Collection<String> applied = new LinkedHashSet<>();
+        for (final Map.Entry<String, List<Translation>> attribute : translations.entrySet()) {
+            for (final Translation translation : accepted(delta, attribute.getValue())) {
+                modelService.setAttributeValue(product, attribute.getKey(),
+                        Collections.singletonMap(Locale.forLanguageTag(translation.getLang()), translation.getDescription()));
+                applied.add(translation.getLang());
+            }
+        }
+        if (applied.isEmpty()) {
+            throw new AiClientException("No translation returned for requested languages " + delta.getTargetLanguages());
+        }
+        modelService.save(product);
+        translationStateService.markTranslated(product, sourceLocale, applied, sourceHash);
+        return applied;
+    }
+
+    /**
+     * @return the description translations for requested languages, keyed by the description qualifier; empty if none
+     */
+    private static Map<String, List<Translation>> acceptedDescription(final ProductTranslationDelta delta,
+                                                                      final List<Translation> translations) {
+        return translations != null
+                ? accepted(delta, Collections.singletonMap(ProductModel.DESCRIPTION, translations))
+                : Collections.emptyMap();
+    }
+
+    /**
+     * @return the translations for requested languages per attribute; attributes without any are left out
+     */
+    private static Map<String, List<Translation>> accepted(final ProductTranslationDelta delta,
+                                                           final Map<String, List<Translation>> translations) {
+        final Map<String, List<Translation>> accepted = new LinkedHashMap<>();
+        translations.forEach((attribute, attributeTranslations) -> {
+            final List<Translation> valid = accepted(delta, attributeTranslations);
+            if (!valid.isEmpty()) {
+                accepted.put(attribute, valid);
+            }
+        });
+        return accepted;
+    }
+
+    /**
+     * @return the translations for requested languages
+     */
+    private static List<Translation> accepted(final ProductTranslationDelta delta, final List<Translation> translations) {
+        return translations.stream()
+                .filter(translation -> delta.getTargetLanguages().contains(translation.getLang()))
+                .collect(Collectors.toList());
+    }
+
+    private static PromptOptions buildOptions(final Locale sourceLocale, final List<String> targetLanguages) {
+        final PromptOptions options = new PromptOptions();
+        options.setSourceLanguage(sourceLocale.toLanguageTag());
+        options.setTone("professional");
+        options.setTargetLanguages(targetLanguages);
+        return options;
+    }
+
+    public void setTranslationsAiService(final TranslationsAiService translationsAiService) {
+        this.translationsAiService = translationsAiService;
+    }
+
+    public void setTranslationStateService(final TranslationStateService translationStateService) {
+        this.translationStateService = translationStateService;
+    }
+
+    public void setModelService(final ModelService modelService) {
+        this.modelService = modelService;
+    }
+
+    public void setCommonI18NService(final CommonI18NService commonI18NService) {
+        this.commonI18NService = commonI18NService;
+    }
+
+    public void setConfigurationService(final ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+
+    public void setTranslationWriter(final TranslationWriter translationWriter) {
+        this.translationWriter = translationWriter;
+    }
+}
@@ -0,0 +1,126 @@
+package com.translations.ai.service.impl;
+
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.translations.ai.dto.request.TokenEstimate;
+import com.translations.ai.exception.TokenBudgetExceededException;
+import com.translations.ai.service.TokenBudgetService;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default implementation of {@link TokenBudgetService}. Budgets are node-local and kept in memory; the daily budget
+ * starts over at midnight in the server time zone. Once a request of a job was rejected by the job or daily budget,
+ * the budget counts as used up, even if smaller requests would still fit or later settlements refund tokens.
+ */
+public class DefaultTokenBudgetService implements TokenBudgetService {
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultTokenBudgetService.class);
+
+    private static final String CONFIG_REQUEST_MAX_TOKENS = "translationsai.budget.request.maxTokens";
+    private static final String CONFIG_JOB_MAX_TOKENS = "translationsai.budget.job.maxTokens";
+    private static final String CONFIG_DAILY_MAX_TOKENS = "translationsai.budget.daily.maxTokens";
+
+    private final Map<String, AtomicLong> jobs = new ConcurrentHashMap<>();
+    private final Set<String> exhaustedJobs = ConcurrentHashMap.newKeySet();
+
+    private ConfigurationService configurationService;
+
+    private LocalDate day = LocalDate.now();
+    private long dailyTokens;
+    private boolean dailyExhausted;
+
+    @Override
+    public synchronized void reserve(final TokenEstimate estimate, final String job) throws TokenBudgetExceededException {
+        final long tokens = estimate.getTotalTokens();
+        final long requestMax = getMaxTokens(CONFIG_REQUEST_MAX_TOKENS);
+        if (requestMax > 0 && tokens > requestMax) {
+            throw new TokenBudgetExceededException("Estimated " + tokens + " tokens exceed the request budget of " + requestMax);
+        }
+        final AtomicLong jobTokens = job != null ? jobs.get(job) : null;
+        final long jobMax = getMaxTokens(CONFIG_JOB_MAX_TOKENS);
+        if (jobTokens != null && jobMax > 0 && jobTokens.get() + tokens > jobMax) {
+            exhaustedJobs.add(job);
+            throw new TokenBudgetExceededException("Token budget of job " + job + " (" + jobMax + ") is used up", true);
+        }
+        rollOver();
+        final long dailyMax = getMaxTokens(CONFIG_DAILY_MAX_TOKENS);
+        if (dailyMax > 0 && dailyTokens + tokens > dailyMax) {
+            dailyExhausted = true;
+            throw new TokenBudgetExceededException("Daily token budget (" + dailyMax + ") is used up", true);
+        }
+        dailyTokens += tokens;
+        if (jobTokens != null) {
+            jobTokens.addAndGet(tokens);
+        }
+    }
+
+    @Override
+    public synchronized void settle(final TokenEstimate reserved, final TokenEstimate used, final String job) {
+        final long difference = (used != null ? used.getTotalTokens() : 0L) - reserved.getTotalTokens();
+        rollOver();
+        dailyTokens = Math.max(0L, dailyTokens + difference);
+        final AtomicLong jobTokens = job != null ? jobs.get(job) : null;
+        if (jobTokens != null) {
+            jobTokens.updateAndGet(tokens -> Math.max(0L, tokens + difference));
+        }
+    }
+
+    @Override
+    public void startJob(final String job) {
+        jobs.put(job, new AtomicLong());
+    }
+
+    @Override
+    public void finishJob(final String job) {
+        exhaustedJobs.remove(job);
+        final AtomicLong tokens = jobs.remove(job);
+        if (tokens != null) {
+            LOG.info("Job [{}] used {} tokens", job, tokens.get());
+        }
+    }
+
+    @Override
+    public synchronized boolean isExhausted(final String job) {
+        rollOver();
+        final long dailyMax = getMaxTokens(CONFIG_DAILY_MAX_TOKENS);
+        if (dailyMax > 0 && (dailyExhausted || dailyTokens >= dailyMax)) {
+            return true;
+        }
+        final long jobMax = getMaxTokens(CONFIG_JOB_MAX_TOKENS);
+        return job != null && jobMax > 0 && (exhaustedJobs.contains(job) || getJobTokens(job) >= jobMax);
+    }
+
+    @Override
+    public synchronized long getDailyTokens() {
+        rollOver();
+        return dailyTokens;
+    }
+
+    @Override
+    public long getJobTokens(final String job) {
+        final AtomicLong tokens = jobs.get(job);
+        return tokens != null ? tokens.get() : 0L;
+    }
+
+    private void rollOver() {
+        final LocalDate today = LocalDate.now();
+        if (!today.equals(day)) {
+            day = today;
+            dailyTokens = 0;
+            dailyExhausted = false;
+        }
+    }
+
+    private long getMaxTokens(final String key) {
+        return configurationService.getConfiguration().getLong(key, 0L);
+    }
+
+    public void setConfigurationService(final ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+}
@@ -0,0 +1,169 @@
+package com.translations.ai.service.impl;
+
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import de.hybris.platform.servicelayer.model.ModelService;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.translations.ai.dao.TranslationQueueDao;
+import com.translations.ai.dto.bulk.ProductTranslationDelta;
+import com.translations.ai.service.ProductTranslationService;
+import com.translations.ai.service.TranslationQueueService;
+import com.translations.ai.service.TranslationStateService;
+import com.translations.enums.TranslationQueueStatus;
+import com.translations.model.TranslationQueueEntryModel;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Default implementation of {@link TranslationQueueService}.
+ * <p>
+ * Entries are claimed with a conditional update on their status and claim token (see {@link TranslationQueueDao#claimIfUnchanged}),
+ * so when the consumers of several cluster nodes find the same due entries, each entry is processed by one of them.
+ * A consumer only completes or reschedules an entry while it still holds the token of its claim.
+ */
+public class DefaultTranslationQueueService implements TranslationQueueService {
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultTranslationQueueService.class);
+
+    private static final String CONFIG_ENABLED = "translationsai.queue.enabled";
+    private static final String CONFIG_DEBOUNCE_MS = "translationsai.queue.debounce.ms";
+    private static final String CONFIG_MAX_DELAY_MS = "translationsai.queue.maxDelay.ms";
+    private static final String CONFIG_CLAIM_TIMEOUT_MS = "translationsai.queue.claimTimeout.ms";
+    private static final String CONFIG_MAX_ATTEMPTS = "translationsai.queue.maxAttempts";
+
+    private TranslationQueueDao translationQueueDao;
+    private TranslationStateService translationStateService;
+    private ProductTranslationService productTranslationService;
+    private ModelService modelService;
+    private ConfigurationService configurationService;
+
+    @Override
+    public TranslationQueueEntryModel enqueue(final ProductModel product, final Locale sourceLocale) {
+        final long now = System.currentTimeMillis();
+        TranslationQueueEntryModel entry = modelService.isNew(product) ? null : translationQueueDao.findEntry(product);
+        if (entry == null) {
+            entry = modelService.create(TranslationQueueEntryModel.class);
+            entry.setProduct(product);
+            entry.setEnqueuedAt(new Date(now));
+        } else if (entry.getStatus() != TranslationQueueStatus.PENDING) {
+            // a failed or in-flight entry starts over for the new source text
+            entry.setEnqueuedAt(new Date(now));
+            entry.setClaimedAt(null);
+            entry.setAttempts(Integer.valueOf(0));
+        }
+        entry.setStatus(TranslationQueueStatus.PENDING);
+        entry.setSourceLanguage(sourceLocale.toLanguageTag());
+
+        final long debounced = now + getLong(CONFIG_DEBOUNCE_MS, 60000L);
+        final long latest = entry.getEnqueuedAt().getTime() + getLong(CONFIG_MAX_DELAY_MS, 600000L);
+        entry.setNotBefore(new Date(Math.min(debounced, latest)));
+        return entry;
+    }
+
+    @Override
+    public List<TranslationQueueEntryModel> claimDueEntries(final int max) {
+        final long now = System.currentTimeMillis();
+        final Date claimExpiry = new Date(now - getLong(CONFIG_CLAIM_TIMEOUT_MS, 600000L));
+        final List<TranslationQueueEntryModel> claimed = new ArrayList<>(max);
+        for (final TranslationQueueEntryModel entry : translationQueueDao.findDueEntries(new Date(now), claimExpiry, max)) {
+            if (translationQueueDao.claimIfUnchanged(entry, UUID.randomUUID().toString(), new Date(now))) {
+                modelService.refresh(entry);
+                claimed.add(entry);
+            }
+            // otherwise another node claimed it first
+        }
+        return claimed;
+    }
+
+    @Override
+    public void process(final TranslationQueueEntryModel entry) {
+        final ProductModel product = entry.getProduct();
+        final String claimToken = entry.getClaimToken();
+        if (product == null) {
+            LOG.info("Discarding translation queue entry [{}] of a removed product", entry.getPk());
+            finish(entry, claimToken);
+            return;
+        }
+        final Locale sourceLocale = Locale.forLanguageTag(entry.getSourceLanguage());
+        try {
+            final List<String> stale = translationStateService.getStaleLanguages(product, sourceLocale,
+                    productTranslationService.getDefaultTargetLanguages(sourceLocale));
+            if (!stale.isEmpty()) {
+                productTranslationService.translate(new ProductTranslationDelta(product, stale), sourceLocale);
+            }
+            finish(entry, claimToken);
+        } catch (final RuntimeException e) {
+            LOG.warn("Background translation of product [{}] failed", product.getCode(), e);
+            reschedule(entry, claimToken, e);
+        }
+    }
+
+    @Override
+    public int countOpenEntries() {
+        return translationQueueDao.countOpenEntries();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getConfiguration().getBoolean(CONFIG_ENABLED, false);
+    }
+
+    private void finish(final TranslationQueueEntryModel entry, final String claimToken) {
+        modelService.refresh(entry);
+        if (isStillClaimed(entry, claimToken)) {
+            modelService.remove(entry);
+        }
+        // otherwise the product was saved again meanwhile; keep the refreshed entry for another round
+    }
+
+    private void reschedule(final TranslationQueueEntryModel entry, final String claimToken, final Exception cause) {
+        modelService.refresh(entry);
+        if (!isStillClaimed(entry, claimToken)) {
+            return;
+        }
+        final int attempts = (entry.getAttempts() != null ? entry.getAttempts().intValue() : 0) + 1;
+        entry.setAttempts(Integer.valueOf(attempts));
+        entry.setLastError(StringUtils.abbreviate(cause.getMessage(), 4000));
+        entry.setClaimedAt(null);
+        if (attempts >= configurationService.getConfiguration().getInt(CONFIG_MAX_ATTEMPTS, 3)) {
+            entry.setStatus(TranslationQueueStatus.FAILED);
+        } else {
+            entry.setStatus(TranslationQueueStatus.PENDING);
+            entry.setNotBefore(new Date(System.currentTimeMillis() + attempts * getLong(CONFIG_DEBOUNCE_MS, 60000L)));
+        }
+        modelService.save(entry);
+    }
+
+    private static boolean isStillClaimed(final TranslationQueueEntryModel entry, final String claimToken) {
+        return entry.getStatus() == TranslationQueueStatus.PROCESSING && claimToken != null && claimToken.equals(entry.getClaimToken());
+    }
+
+    private long getLong(final String key, final long defaultValue) {
+        return configurationService.getConfiguration().getLong(key, defaultValue);
+    }
+
+    public void setTranslationQueueDao(final TranslationQueueDao translationQueueDao) {
+        this.translationQueueDao = translationQueueDao;
+    }
+
+    public void setTranslationStateService(final TranslationStateService translationStateService) {
+        this.translationStateService = translationStateService;
+    }
+
+    public void setProductTranslationService(final ProductTranslationService productTranslationService) {
+        this.productTranslationService = productTranslationService;
+    }
+
+    public void setModelService(final ModelService modelService) {
+        this.modelService = modelService;
+    }
+
+    public void setConfigurationService(final ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+}
@@ -0,0 +1,171 @@
+package com.translations.ai.service.impl;
+
+import de.hybris.platform.catalog.model.CatalogVersionModel;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.model.ModelService;
+import org.apache.commons.collections4.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.translations.ai.dao.TranslationStateDao;
+import com.translations.ai.dto.bulk.ProductTranslationDelta;
+import com.translations.ai.service.TranslationStateService;
+import com.translations.ai.service.TranslationsAiService;
+import com.translations.ai.util.SourceHashUtils;
+import com.translations.model.ProductTranslationStateModel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Default implementation of {@link TranslationStateService}.
+ * <p>
+ * Change detection runs in two steps: the DAO narrows the catalog down to products that are untranslated or were
+ * modified after their last translation, then the stored source hashes are compared with the current source
+ * description to drop products whose modification did not touch it. The source hash covers all configured localized
+ * attributes ({@link TranslationsAiService#getAttributes()}), so a change to any of them makes the translations stale.
+ * <p>
+ * Translations that are still current are moved forward to the modification time that was checked, so the DAO stops
+ * returning a product once a modification was found not to touch its source.
+ */
+public class DefaultTranslationStateService implements TranslationStateService {
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultTranslationStateService.class);
+
+    private TranslationStateDao translationStateDao;
+    private ModelService modelService;
+    private TranslationsAiService translationsAiService;
+
+    @Override
+    public List<ProductTranslationDelta> findChangedProducts(final CatalogVersionModel catalogVersion, final Locale sourceLocale,
+                                                             final List<String> targetLanguages) {
+        final List<ProductModel> candidates = translationStateDao.findTranslationCandidates(catalogVersion, targetLanguages);
+        final List<ProductTranslationDelta> deltas = new ArrayList<>();
+        final List<ProductTranslationStateModel> confirmed = new ArrayList<>();
+        for (final ProductModel candidate : candidates) {
+            final String currentHash = getSourceHash(candidate, sourceLocale);
+            if (currentHash == null) {
+                continue;
+            }
+            final Map<String, ProductTranslationStateModel> states = getStatesByLanguage(candidate, targetLanguages);
+            final List<String> stale = getStaleLanguages(currentHash, states, targetLanguages);
+            if (!stale.isEmpty()) {
+                deltas.add(new ProductTranslationDelta(candidate, stale));
+            }
+            confirmed.addAll(confirmCurrent(candidate, currentHash, states.values()));
+        }
+        if (!confirmed.isEmpty()) {
+            modelService.saveAll(confirmed);
+        }
+        LOG.info("Change detection for catalog version [{}]: {} candidates, {} products to translate, {} translations confirmed",
+                catalogVersion.getVersion(), candidates.size(), deltas.size(), confirmed.size());
+        return deltas;
+    }
+
+    @Override
+    public List<String> getStaleLanguages(final ProductModel product, final Locale sourceLocale, final List<String> targetLanguages) {
+        final String currentHash = getSourceHash(product, sourceLocale);
+        if (currentHash == null || CollectionUtils.isEmpty(targetLanguages)) {
+            return Collections.emptyList();
+        }
+        return getStaleLanguages(currentHash, getStatesByLanguage(product, targetLanguages), targetLanguages);
+    }
+
+    private static List<String> getStaleLanguages(final String currentHash, final Map<String, ProductTranslationStateModel> states,
+                                                  final List<String> targetLanguages) {
+        return targetLanguages.stream()
+                .filter(lang -> {
+                    final ProductTranslationStateModel state = states.get(lang);
+                    return state == null || !Objects.equals(currentHash, state.getSourceHash());
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Move the translations that still match the source forward to the modification time of the product. The checked
+     * modification time is used rather than the current time, so an edit made while the hash was computed is still
+     * picked up by the next run.
+     *
+     * @return the states that were changed and need saving
+     */
+    private static List<ProductTranslationStateModel> confirmCurrent(final ProductModel product, final String currentHash,
+                                                                     final Collection<ProductTranslationStateModel> states) {
+        final Date modified = product.getModifiedtime();
+        if (modified == null) {
+            return Collections.emptyList();
+        }
+        final List<ProductTranslationStateModel> confirmed = new ArrayList<>();
+        for (final ProductTranslationStateModel state : states) {
+            if (Objects.equals(currentHash, state.getSourceHash())
+                    && (state.getTranslatedAt() == null || state.getTranslatedAt().before(modified))) {
+                state.setTranslatedAt(modified);
+                confirmed.add(state);
+            }
+        }
+        return confirmed;
+    }
+
+    @Override
+    public void markTranslated(final ProductModel product, final Locale sourceLocale, final Collection<String> targetLanguages) {
+        markTranslated(product, sourceLocale, targetLanguages, getSourceHash(product, sourceLocale));
+    }
+
+    @Override
+    public void markTranslated(final ProductModel product, final Locale sourceLocale, final Collection<String> targetLanguages,
+                               final String sourceHash) {
+        if (CollectionUtils.isEmpty(targetLanguages)) {
+            return;
+        }
+        final Map<String, ProductTranslationStateModel> states = getStatesByLanguage(product, targetLanguages);
+        final Date now = new Date();
+        final List<ProductTranslationStateModel> toSave = new ArrayList<>(targetLanguages.size());
+        for (final String lang : targetLanguages) {
+            ProductTranslationStateModel state = states.get(lang);
+            if (state == null) {
+                state = modelService.create(ProductTranslationStateModel.class);
+                state.setProduct(product);
+                state.setTargetLanguage(lang);
+            }
+            state.setSourceLanguage(sourceLocale.toLanguageTag());
+            state.setSourceHash(sourceHash);
+            state.setTranslatedAt(now);
+            toSave.add(state);
+        }
+        modelService.saveAll(toSave);
+    }
+
+    @Override
+    public String getSourceHash(final ProductModel product, final Locale sourceLocale) {
+        final Map<String, String> sourceValues = new LinkedHashMap<>();
+        for (final String attribute : translationsAiService.getAttributes()) {
+            final Object value = modelService.getAttributeValue(product, attribute, sourceLocale);
+            sourceValues.put(attribute, value instanceof String ? (String) value : null);
+        }
+        return SourceHashUtils.hash(sourceValues);
+    }
+
+    private Map<String, ProductTranslationStateModel> getStatesByLanguage(final ProductModel product,
+                                                                          final Collection<String> targetLanguages) {
+        return translationStateDao.findStates(product, targetLanguages).stream()
+                .collect(Collectors.toMap(ProductTranslationStateModel::getTargetLanguage, Function.identity(), (a, b) -> a));
+    }
+
+    public void setTranslationStateDao(final TranslationStateDao translationStateDao) {
+        this.translationStateDao = translationStateDao;
+    }
+
+    public void setModelService(final ModelService modelService) {
+        this.modelService = modelService;
+    }
+
+    public void setTranslationsAiService(final TranslationsAiService translationsAiService) {
+        this.translationsAiService = translationsAiService;
+    }
+}
@@ -0,0 +1,256 @@
+package com.translations.ai.service.impl;
+
+import de.hybris.platform.core.PK;
+import de.hybris.platform.core.Tenant;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import de.hybris.platform.servicelayer.model.ModelService;
+import de.hybris.platform.tx.Transaction;
+import de.hybris.platform.tx.TransactionBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.translations.ai.concurrent.TenantSessionRunner;
+import com.translations.ai.dto.response.Translation;
+import com.translations.ai.service.TranslationStateService;
+import com.translations.ai.service.TranslationWriter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default implementation of {@link TranslationWriter}.
+ * <p>
+ * If saving a batch fails, the transaction is rolled back and the products of the batch are saved one by one in their
+ * own transactions, so a single invalid product does not lose the translations of the others. The models of a failed
+ * save are detached first, so the retry compares with the persisted values rather than with the values the failed
+ * save left on the cached models. The translation state
+ * is recorded with the source hash captured when the translation was requested, not with the source as it is at
+ * flush time, so an edit made in between leaves the product stale.
+ */
+public class DefaultTranslationWriter implements TranslationWriter {
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultTranslationWriter.class);
+
+    private static final String CONFIG_BATCH_SIZE = "translationsai.writer.batchSize";
+    private static final String CONFIG_FLUSH_MS = "translationsai.writer.flush.ms";
+
+    private final Map<PK, PendingWrite> buffer = new LinkedHashMap<>();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private TranslationStateService translationStateService;
+    private ModelService modelService;
+    private TenantSessionRunner tenantSessionRunner;
+    private ConfigurationService configurationService;
+
+    private Tenant tenant;
+    private ScheduledExecutorService flusher;
+
+    public void init() {
+        tenant = tenantSessionRunner.currentTenant();
+        final long flushMs = Math.max(100L, configurationService.getConfiguration().getLong(CONFIG_FLUSH_MS, 2000L));
+        flusher = Executors.newSingleThreadScheduledExecutor(TenantSessionRunner.namedThreads("translationsai-writer-"));
+        flusher.scheduleWithFixedDelay(this::flushInTenant, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void destroy() {
+        flusher.shutdownNow();
+        flushInTenant();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> write(final ProductModel product, final Locale sourceLocale, final String sourceHash,
+                                            final Map<String, ? extends Collection<Translation>> translations) {
+        final PendingWrite pending;
+        final boolean full;
+        synchronized (buffer) {
+            pending = buffer.computeIfAbsent(product.getPk(), pk -> new PendingWrite(pk, sourceLocale));
+            translations.forEach((attribute, attributeTranslations) -> {
+                final Map<String, String> values = pending.values.computeIfAbsent(attribute, qualifier -> new LinkedHashMap<>());
+                for (final Translation translation : attributeTranslations) {
+                    values.put(translation.getLang(), translation.getDescription());
+                    pending.sourceHashes.put(translation.getLang(), sourceHash);
+                }
+            });
+            full = buffer.size() >= configurationService.getConfiguration().getInt(CONFIG_BATCH_SIZE, 50);
+        }
+        if (full) {
+            flush();
+        }
+        return pending.saved;
+    }
+
+    @Override
+    public void flush() {
+        final List<PendingWrite> batch;
+        synchronized (buffer) {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(buffer.values());
+            buffer.clear();
+        }
+        try {
+            saveInTransaction(batch);
+            batch.forEach(pending -> pending.saved.complete(Boolean.TRUE));
+        } catch (final Exception e) {
+            LOG.warn("Saving a batch of {} translated products failed, retrying one by one", batch.size(), e);
+            batch.forEach(this::detach);
+            for (final PendingWrite pending : batch) {
+                try {
+                    saveInTransaction(Collections.singletonList(pending));
+                    pending.saved.complete(Boolean.TRUE);
+                } catch (final Exception ex) {
+                    detach(pending);
+                    failed.incrementAndGet();
+                    pending.saved.complete(Boolean.FALSE);
+                    LOG.error("Saving translations of product [{}] failed", pending.productPk, ex);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getBufferedCount() {
+        synchronized (buffer) {
+            return buffer.size();
+        }
+    }
+
+    @Override
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    @Override
+    public long getSkippedCount() {
+        return skipped.get();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    private void saveInTransaction(final List<PendingWrite> batch) throws Exception {
+        final long[] counts = (long[]) execute(new TransactionBody() {
+            @Override
+            public Object execute() {
+                return save(batch);
+            }
+        });
+        written.addAndGet(counts[0]);
+        skipped.addAndGet(counts[1]);
+    }
+
+    /**
+     * Execute the body in a transaction of the current tenant.
+     */
+    protected Object execute(final TransactionBody body) throws Exception {
+        return Transaction.current().execute(body);
+    }
+
+    /**
+     * Drop the unsaved changes of a failed save from the cached model of the product.
+     */
+    private void detach(final PendingWrite pending) {
+        try {
+            modelService.detach(modelService.get(pending.productPk));
+        } catch (final RuntimeException e) {
+            LOG.debug("Product [{}] could not be detached", pending.productPk, e);
+        }
+    }
+
+    /**
+     * @return number of saved and of unchanged products
+     */
+    private long[] save(final List<PendingWrite> batch) {
+        final List<ProductModel> changed = new ArrayList<>(batch.size());
+        final Map<ProductModel, PendingWrite> products = new LinkedHashMap<>();
+        for (final PendingWrite pending : batch) {
+            final ProductModel product = modelService.get(pending.productPk);
+            products.put(product, pending);
+            boolean modified = false;
+            for (final Map.Entry<String, Map<String, String>> attribute : pending.values.entrySet()) {
+                for (final Map.Entry<String, String> value : attribute.getValue().entrySet()) {
+                    final Locale locale = Locale.forLanguageTag(value.getKey());
+                    if (!Objects.equals(modelService.getAttributeValue(product, attribute.getKey(), locale), value.getValue())) {
+                        modelService.setAttributeValue(product, attribute.getKey(), Collections.singletonMap(locale, value.getValue()));
+                        modified = true;
+                    }
+                }
+            }
+            if (modified) {
+                changed.add(product);
+            }
+        }
+        modelService.saveAll(changed);
+        // unchanged values were produced from the recorded source as well, so their state is recorded too
+        products.forEach((product, pending) -> pending.getLanguagesBySourceHash().forEach((sourceHash, languages) ->
+                translationStateService.markTranslated(product, pending.sourceLocale, languages, sourceHash)));
+        return new long[]{changed.size(), batch.size() - changed.size()};
+    }
+
+    private void flushInTenant() {
+        if (getBufferedCount() == 0) {
+            return;
+        }
+        try {
+            tenantSessionRunner.run(tenant, () -> {
+                flush();
+                return null;
+            });
+        } catch (final RuntimeException e) {
+            LOG.error("Scheduled flush of translations failed", e);
+        }
+    }
+
+    public void setTranslationStateService(final TranslationStateService translationStateService) {
+        this.translationStateService = translationStateService;
+    }
+
+    public void setModelService(final ModelService modelService) {
+        this.modelService = modelService;
+    }
+
+    public void setTenantSessionRunner(final TenantSessionRunner tenantSessionRunner) {
+        this.tenantSessionRunner = tenantSessionRunner;
+    }
+
+    public void setConfigurationService(final ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+
+    private static final class PendingWrite {
+        private final PK productPk;
+        private final Locale sourceLocale;
+        private final Map<String, Map<String, String>> values = new LinkedHashMap<>();
+        private final Map<String, String> sourceHashes = new LinkedHashMap<>();
+        private final CompletableFuture<Boolean> saved = new CompletableFuture<>();
+
+        private PendingWrite(final PK productPk, final Locale sourceLocale) {
+            this.productPk = productPk;
+            this.sourceLocale = sourceLocale;
+        }
+
+        /**
+         * Languages written at different times may stem from different versions of the source.
+         */
+        private Map<String, List<String>> getLanguagesBySourceHash() {
+            final Map<String, List<String>> languages = new LinkedHashMap<>();
+            sourceHashes.forEach((lang, sourceHash) -> languages.computeIfAbsent(sourceHash, hash -> new ArrayList<>()).add(lang));
+            return languages;
+        }
+    }
+}
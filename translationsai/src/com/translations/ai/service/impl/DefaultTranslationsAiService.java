@@ -5,22 +5,40 @@ package com.translations.ai.service.impl;
 
 import de.hybris.platform.core.model.product.ProductModel;
 import de.hybris.platform.servicelayer.config.ConfigurationService;
+import de.hybris.platform.servicelayer.model.ModelService;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.translations.ai.client.AiClient;
 import com.translations.ai.dto.options.AiClientOptions;
 import com.translations.ai.dto.options.PromptOptions;
+import com.translations.ai.dto.request.Prompt;
+import com.translations.ai.dto.request.TokenEstimate;
+import com.translations.ai.dto.response.AttributeTranslationsResponse;
+import com.translations.ai.dto.response.ProductTranslationsResponse;
 import com.translations.ai.dto.response.Translation;
 import com.translations.ai.exception.AiClientException;
+import com.translations.ai.exception.TokenBudgetExceededException;
 import com.translations.ai.service.TranslationsAiService;
+import com.translations.ai.util.PlaceholderMasker;
+import com.translations.ai.util.PlaceholderMasker.MaskedText;
 import com.translations.ai.util.PromptBuilder;
+import com.translations.ai.util.PromptTemplates;
+import com.translations.ai.util.TokenEstimator;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 
 /**
  * Default implementation of {@link TranslationsAiService}.
@@ -28,6 +46,11 @@ import java.util.Locale;
  * Features:
  * - Two prompt modes controlled by {@link PromptOptions#isEnhanceSource()} (enhance+translate vs translate-only)
  * - Mock mode when property `translationsai.mock.response` is true
+ * - Several localized attributes of a product translated together in one request
+ * - Multi-product packing of short descriptions into one request up to a token budget
+ * - Markup, URLs, SKUs and numbers masked as placeholders before the request and restored in every translation;
+ * translations with mangled placeholders are requested again without masking
+ * - Responses validated against the requested languages; only missing or empty languages are requested again
  * - OpenAI Java SDK used via {@link AiClient}
  */
 public class DefaultTranslationsAiService implements TranslationsAiService {
@@ -37,9 +60,19 @@ public class DefaultTranslationsAiService implements TranslationsAiService {
     private static final String CONFIG_MODEL = "translationsai.openai.model";
     private static final String CONFIG_MAX_TOKENS = "translationsai.maxTokens";
     private static final String CONFIG_TIMEOUT_MS = "translationsai.timeout.ms";
+    private static final String CONFIG_ATTRIBUTES = "translationsai.attributes";
+    private static final String CONFIG_PACKING_MAX_TOKENS = "translationsai.packing.maxTokens";
+    private static final String CONFIG_PACKING_MAX_PRODUCTS = "translationsai.packing.maxProducts";
+    private static final String CONFIG_MASKING_ENABLED = "translationsai.masking.enabled";
+    private static final String CONFIG_RECOVERY_MAX_ATTEMPTS = "translationsai.recovery.maxAttempts";
+
+    private static final String WARM_UP_TEXT = "<p>Warm-up sample AB-1234, 2 x 50 ml, see https://example.com/care</p>";
 
     private AiClient aiClient;
+    private volatile PromptTemplates promptTemplates;
+    private volatile PlaceholderMasker placeholderMasker;
     private ConfigurationService configurationService;
+    private ModelService modelService;
 
     @Override
     public List<Translation> translateDescription(final ProductModel product, final Locale locale, final PromptOptions options)
@@ -58,11 +91,432 @@ public class DefaultTranslationsAiService implements TranslationsAiService {
             throw new AiClientException("Product description is empty for locale: " + locale);
         }
 
-        final String prompt = PromptBuilder.buildTranslatePrompt(sourceDescription, locale, options);
+        return translateSingle(product, sourceDescription, locale, options);
+    }
+
+    private List<Translation> translateSingle(final ProductModel product, final String source, final Locale locale,
+                                              final PromptOptions options) {
+        final Map<ProductModel, List<Translation>> result = new LinkedHashMap<>();
+        result.put(product, requestSingle(source, locale, options));
+        recoverMissing(result, result.keySet(), options,
+                (products, recoveryOptions) -> Collections.singletonMap(product, requestSingle(source, locale, recoveryOptions)));
+        return result.get(product);
+    }
+
+    private List<Translation> requestSingle(final String source, final Locale locale, final PromptOptions options) {
+        final MaskedText masked = mask(source);
+        final Prompt prompt = PromptBuilder.buildTranslatePrompt(getPromptTemplates(), masked != null ? masked.getText() : source,
+                locale, options);
         LOG.info("Built prompt\n[{}]", prompt);
 
-        final AiClientOptions clientOptions = buildClientOptions();
-        return aiClient.translate(prompt, clientOptions);
+        final List<String> mangled = new ArrayList<>();
+        final List<Translation> translations = restore(aiClient.translate(prompt, getClientOptions()), masked, mangled);
+        if (!mangled.isEmpty()) {
+            translations.addAll(translateUnmasked(source, locale, options, mangled));
+        }
+        return translations;
+    }
+
+    /**
+     * Fallback for translations whose placeholders were mangled: request the given languages again from the original text.
+     * A failure of the fallback is logged only, so the correctly restored translations are kept.
+     */
+    private List<Translation> translateUnmasked(final String source, final Locale locale, final PromptOptions options,
+                                                final List<String> languages) {
+        LOG.warn("Placeholders were mangled in translations {}, requesting them again without masking", languages);
+        try {
+            final Prompt prompt = PromptBuilder.buildTranslatePrompt(getPromptTemplates(), source, locale,
+                    withTargetLanguages(options, languages));
+            return aiClient.translate(prompt, getClientOptions());
+        } catch (final TokenBudgetExceededException e) {
+            if (e.isUsedUp()) {
+                throw e;
+            }
+            LOG.error("Unmasked translation into {} rejected: {}", languages, e.getMessage());
+            return Collections.emptyList();
+        } catch (final AiClientException e) {
+            LOG.error("Unmasked translation into {} failed", languages, e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public Map<String, List<Translation>> translateAttributes(final ProductModel product, final Locale locale, final PromptOptions options)
+            throws AiClientException {
+        if (!isEnabled()) {
+            throw new AiClientException("AI translation feature is not enabled");
+        }
+
+        final Map<String, String> sourceValues = getSourceValues(product, locale, options);
+        if (sourceValues.isEmpty()) {
+            throw new AiClientException("Product attributes " + getAttributes(options) + " are empty for locale: " + locale);
+        }
+
+        final Map<String, List<Translation>> result = new LinkedHashMap<>();
+        if (configurationService.getConfiguration().getBoolean("translationsai.mock.response", false)) {
+            sourceValues.keySet().forEach(attribute -> result.put(attribute, getMock(locale, options)));
+            return result;
+        }
+
+        result.putAll(requestAttributes(sourceValues, locale, options));
+        recoverMissing(result, sourceValues.keySet(), options,
+                (attributes, recoveryOptions) -> requestAttributes(subMap(sourceValues, attributes), locale, recoveryOptions));
+        return result;
+    }
+
+    private Map<String, List<Translation>> requestAttributes(final Map<String, String> sourceValues, final Locale locale,
+                                                             final PromptOptions options) {
+        final Map<String, List<Translation>> result = new LinkedHashMap<>();
+        final Map<String, MaskedText> maskedValues = new LinkedHashMap<>();
+        final Map<String, String> requestValues = new LinkedHashMap<>();
+        sourceValues.forEach((attribute, value) -> {
+            final MaskedText masked = mask(value);
+            maskedValues.put(attribute, masked);
+            requestValues.put(attribute, masked != null ? masked.getText() : value);
+        });
+
+        final Prompt prompt = PromptBuilder.buildAttributesTranslatePrompt(getPromptTemplates(), requestValues, locale, options);
+        LOG.info("Built attributes prompt\n[{}]", prompt);
+        final Map<String, List<String>> mangled = new LinkedHashMap<>();
+        for (final AttributeTranslationsResponse response : aiClient.translateAttributes(prompt, getClientOptions())) {
+            if (sourceValues.containsKey(response.getAttribute()) && response.getTranslations() != null) {
+                final List<String> mangledLanguages = new ArrayList<>();
+                result.put(response.getAttribute(), restore(response.getTranslations(), maskedValues.get(response.getAttribute()),
+                        mangledLanguages));
+                if (!mangledLanguages.isEmpty()) {
+                    mangled.put(response.getAttribute(), mangledLanguages);
+                }
+            }
+        }
+        if (!mangled.isEmpty()) {
+            translateAttributesUnmasked(sourceValues, locale, options, mangled, result);
+        }
+        return result;
+    }
+
+    /**
+     * Fallback for attribute translations whose placeholders were mangled: one request for the affected attributes and
+     * languages, sent without masking; only the mangled translations are taken from it.
+     */
+    private void translateAttributesUnmasked(final Map<String, String> sourceValues, final Locale locale, final PromptOptions options,
+                                             final Map<String, List<String>> mangled, final Map<String, List<Translation>> result) {
+        LOG.warn("Placeholders were mangled in attribute translations {}, requesting them again without masking", mangled);
+        final Map<String, String> values = new LinkedHashMap<>();
+        final Set<String> languages = new LinkedHashSet<>();
+        mangled.forEach((attribute, attributeLanguages) -> {
+            values.put(attribute, sourceValues.get(attribute));
+            languages.addAll(attributeLanguages);
+        });
+        try {
+            final Prompt prompt = PromptBuilder.buildAttributesTranslatePrompt(getPromptTemplates(), values, locale,
+                    withTargetLanguages(options, new ArrayList<>(languages)));
+            for (final AttributeTranslationsResponse response : aiClient.translateAttributes(prompt, getClientOptions())) {
+                final List<String> attributeLanguages = mangled.get(response.getAttribute());
+                if (attributeLanguages != null && response.getTranslations() != null) {
+                    response.getTranslations().stream()
+                            .filter(translation -> attributeLanguages.contains(translation.getLang()))
+                            .forEach(result.get(response.getAttribute())::add);
+                }
+            }
+        } catch (final TokenBudgetExceededException e) {
+            if (e.isUsedUp()) {
+                throw e;
+            }
+            LOG.error("Unmasked translation of attributes {} rejected: {}", mangled.keySet(), e.getMessage());
+        } catch (final AiClientException e) {
+            LOG.error("Unmasked translation of attributes {} failed", mangled.keySet(), e);
+        }
+    }
+
+    private Map<String, String> getSourceValues(final ProductModel product, final Locale locale, final PromptOptions options) {
+        final Map<String, String> sourceValues = new LinkedHashMap<>();
+        for (final String attribute : getAttributes(options)) {
+            final Object value = modelService.getAttributeValue(product, attribute, locale);
+            if (value instanceof String && StringUtils.isNotBlank((String) value)) {
+                sourceValues.put(attribute, (String) value);
+            }
+        }
+        return sourceValues;
+    }
+
+    private List<String> getAttributes(final PromptOptions options) {
+        if (options != null && options.getAttributes() != null && !options.getAttributes().isEmpty()) {
+            return options.getAttributes();
+        }
+        return getAttributes();
+    }
+
+    @Override
+    public List<String> getAttributes() {
+        return Arrays.stream(configurationService.getConfiguration().getString(CONFIG_ATTRIBUTES, ProductModel.DESCRIPTION).split(","))
+                .map(String::trim)
+                .filter(StringUtils::isNotEmpty)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<ProductModel, List<Translation>> translateDescriptions(final List<ProductModel> products, final Locale locale,
+                                                                      final PromptOptions options) throws AiClientException {
+        if (!isEnabled()) {
+            throw new AiClientException("AI translation feature is not enabled");
+        }
+
+        final Map<ProductModel, List<Translation>> result = new LinkedHashMap<>();
+        final boolean mock = configurationService.getConfiguration().getBoolean("translationsai.mock.response", false);
+        for (final Map<String, ProductModel> pack : pack(products, locale, options)) {
+            if (mock) {
+                pack.values().forEach(product -> result.put(product, getMock(locale, options)));
+                continue;
+            }
+            try {
+                translatePack(pack, getDescriptions(pack, locale), locale, options, result);
+            } catch (final TokenBudgetExceededException e) {
+                // the remaining packs would be rejected as well
+                LOG.warn("Packed translation stopped, {} of {} products translated: {}", result.size(), products.size(), e.getMessage());
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public TokenEstimate estimateDescriptions(final List<ProductModel> products, final Locale locale, final PromptOptions options) {
+        final TokenEstimate estimate = new TokenEstimate();
+        final String model = getModel();
+        for (final Map<String, ProductModel> pack : pack(products, locale, options)) {
+            final Map<String, String> descriptions = new LinkedHashMap<>();
+            getDescriptions(pack, locale).forEach((id, description) -> {
+                final MaskedText masked = mask(description);
+                descriptions.put(id, masked != null ? masked.getText() : description);
+            });
+            final Prompt prompt = descriptions.size() == 1
+                    ? PromptBuilder.buildTranslatePrompt(getPromptTemplates(), descriptions.values().iterator().next(), locale, options)
+                    : PromptBuilder.buildPackedTranslatePrompt(getPromptTemplates(), descriptions, locale, options);
+            estimate.add(TokenEstimator.estimate(prompt, model));
+        }
+        return estimate;
+    }
+
+    @Override
+    public TokenEstimate estimateAttributes(final ProductModel product, final Locale locale, final PromptOptions options) {
+        final Map<String, String> sourceValues = new LinkedHashMap<>();
+        getSourceValues(product, locale, options).forEach((attribute, value) -> {
+            final MaskedText masked = mask(value);
+            sourceValues.put(attribute, masked != null ? masked.getText() : value);
+        });
+        if (sourceValues.isEmpty()) {
+            return new TokenEstimate();
+        }
+        return TokenEstimator.estimate(
+                PromptBuilder.buildAttributesTranslatePrompt(getPromptTemplates(), sourceValues, locale, options), getModel());
+    }
+
+    /**
+     * Split products with a source description into packs that fit the token budget and pack size.
+     *
+     * @return packs of products keyed by their positional id within the pack
+     */
+    private List<Map<String, ProductModel>> pack(final List<ProductModel> products, final Locale locale, final PromptOptions options) {
+        final int maxTokens = configurationService.getConfiguration().getInt(CONFIG_PACKING_MAX_TOKENS, 8000);
+        final int maxProducts = configurationService.getConfiguration().getInt(CONFIG_PACKING_MAX_PRODUCTS, 20);
+        final int targetCount = options.getTargetLanguages() != null ? options.getTargetLanguages().size() : 1;
+        final String model = getModel();
+
+        final List<Map<String, ProductModel>> packs = new ArrayList<>();
+        Map<String, ProductModel> pack = new LinkedHashMap<>();
+        int packTokens = 0;
+        for (final ProductModel product : products) {
+            final String sourceDescription = product.getDescription(locale);
+            if (StringUtils.isBlank(sourceDescription)) {
+                LOG.warn("Product description of [{}] is empty for locale: {}", product.getCode(), locale);
+                continue;
+            }
+            final int tokens = TokenEstimator.estimateTranslation(sourceDescription, targetCount, model);
+            if (!pack.isEmpty() && (packTokens + tokens > maxTokens || pack.size() >= maxProducts)) {
+                packs.add(pack);
+                pack = new LinkedHashMap<>();
+                packTokens = 0;
+            }
+            // short positional ids keep the prompt small and are unique within the pack
+            pack.put(String.valueOf(pack.size() + 1), product);
+            packTokens += tokens;
+        }
+        if (!pack.isEmpty()) {
+            packs.add(pack);
+        }
+        return packs;
+    }
+
+    private static Map<String, String> getDescriptions(final Map<String, ProductModel> pack, final Locale locale) {
+        final Map<String, String> descriptions = new LinkedHashMap<>();
+        pack.forEach((id, product) -> descriptions.put(id, product.getDescription(locale)));
+        return descriptions;
+    }
+
+    private void translatePack(final Map<String, ProductModel> pack, final Map<String, String> descriptions, final Locale locale,
+                               final PromptOptions options, final Map<ProductModel, List<Translation>> result) {
+        try {
+            if (pack.size() == 1) {
+                final ProductModel product = pack.values().iterator().next();
+                result.put(product, translateSingle(product, descriptions.values().iterator().next(), locale, options));
+                return;
+            }
+
+            final Map<String, List<Translation>> packResult = requestPack(descriptions, locale, options);
+            pack.keySet().stream()
+                    .filter(id -> !packResult.containsKey(id))
+                    .forEach(id -> LOG.warn("Packed response contains no translations for product [{}]", pack.get(id).getCode()));
+            recoverMissing(packResult, pack.keySet(), options, (ids, recoveryOptions) -> requestPack(subMap(descriptions, ids), locale,
+                    recoveryOptions));
+            packResult.forEach((id, translations) -> result.put(pack.get(id), translations));
+        } catch (final TokenBudgetExceededException e) {
+            if (e.isUsedUp()) {
+                throw e;
+            }
+            LOG.error("Translation of a pack of {} products rejected: {}", pack.size(), e.getMessage());
+        } catch (final AiClientException e) {
+            LOG.error("Translation of a pack of {} products failed", pack.size(), e);
+        }
+    }
+
+    /**
+     * One request for the given descriptions, keyed by their pack id; a single description is sent as a plain request.
+     */
+    private Map<String, List<Translation>> requestPack(final Map<String, String> descriptions, final Locale locale,
+                                                       final PromptOptions options) {
+        final Map<String, List<Translation>> result = new LinkedHashMap<>();
+        if (descriptions.size() == 1) {
+            final Map.Entry<String, String> entry = descriptions.entrySet().iterator().next();
+            result.put(entry.getKey(), requestSingle(entry.getValue(), locale, options));
+            return result;
+        }
+
+        final Map<String, MaskedText> maskedDescriptions = new LinkedHashMap<>();
+        final Map<String, String> requestDescriptions = new LinkedHashMap<>();
+        descriptions.forEach((id, description) -> {
+            final MaskedText masked = mask(description);
+            maskedDescriptions.put(id, masked);
+            requestDescriptions.put(id, masked != null ? masked.getText() : description);
+        });
+
+        final Prompt prompt = PromptBuilder.buildPackedTranslatePrompt(getPromptTemplates(), requestDescriptions, locale, options);
+        LOG.debug("Built packed prompt for {} products\n[{}]", descriptions.size(), prompt);
+        for (final ProductTranslationsResponse response : aiClient.translatePacked(prompt, getClientOptions())) {
+            final String id = response.getProductId();
+            if (descriptions.containsKey(id) && response.getTranslations() != null) {
+                final List<String> mangled = new ArrayList<>();
+                final List<Translation> translations = restore(response.getTranslations(), maskedDescriptions.get(id), mangled);
+                if (!mangled.isEmpty()) {
+                    translations.addAll(translateUnmasked(descriptions.get(id), locale, options, mangled));
+                }
+                result.put(id, translations);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Partial-result recovery: validates the translations of every key against the requested target languages, dropping
+     * empty, duplicate and unrequested entries, and sends follow-up requests for the missing languages only. Valid
+     * translations are kept; the follow-up results are merged into {@code result}.
+     *
+     * @param result   translations per key, sanitized and completed in place
+     * @param keys     all keys that were requested
+     * @param options  the options of the original request
+     * @param followUp requests the given keys again with the given options (target languages reduced to the missing ones)
+     */
+    private <K> void recoverMissing(final Map<K, List<Translation>> result, final Collection<K> keys, final PromptOptions options,
+                                    final BiFunction<Collection<K>, PromptOptions, Map<K, List<Translation>>> followUp) {
+        final int maxAttempts = configurationService.getConfiguration().getInt(CONFIG_RECOVERY_MAX_ATTEMPTS, 1);
+        Map<K, List<String>> missing = validate(result, keys, options);
+        for (int attempt = 0; !missing.isEmpty() && attempt < maxAttempts; attempt++) {
+            final Set<String> languages = new LinkedHashSet<>();
+            missing.values().forEach(languages::addAll);
+            LOG.warn("Translations missing or empty for {}, requesting them again", missing);
+            try {
+                final Map<K, List<Translation>> recovered = followUp.apply(new ArrayList<>(missing.keySet()),
+                        withTargetLanguages(options, new ArrayList<>(languages)));
+                missing.forEach((key, keyLanguages) -> {
+                    final List<Translation> translations = recovered.get(key);
+                    if (translations != null) {
+                        translations.stream()
+                                .filter(translation -> containsLanguage(keyLanguages, translation.getLang()))
+                                .forEach(result.computeIfAbsent(key, k -> new ArrayList<>())::add);
+                    }
+                });
+            } catch (final TokenBudgetExceededException e) {
+                if (e.isUsedUp()) {
+                    throw e;
+                }
+                LOG.error("Follow-up request for missing translations {} rejected: {}", missing, e.getMessage());
+                break;
+            } catch (final AiClientException e) {
+                LOG.error("Follow-up request for missing translations {} failed", missing, e);
+                break;
+            }
+            missing = validate(result, keys, options);
+        }
+        if (!missing.isEmpty()) {
+            LOG.warn("Translations still missing for {}", missing);
+        }
+    }
+
+    /**
+     * Keep the first non-empty translation per requested language and find the requested languages without one. Kept
+     * translations carry the language tag as requested.
+     *
+     * @return missing languages per key; empty if all are complete or no target languages were requested
+     */
+    private static <K> Map<K, List<String>> validate(final Map<K, List<Translation>> result, final Collection<K> keys,
+                                                     final PromptOptions options) {
+        final List<String> targets = options.getTargetLanguages();
+        final Map<K, List<String>> missing = new LinkedHashMap<>();
+        for (final K key : keys) {
+            final List<Translation> valid = new ArrayList<>();
+            final List<String> keyMissing = targets != null ? new ArrayList<>(targets) : new ArrayList<>();
+            for (final Translation translation : result.getOrDefault(key, Collections.emptyList())) {
+                if (translation == null || StringUtils.isBlank(translation.getDescription())) {
+                    continue;
+                }
+                if (targets == null || targets.isEmpty()) {
+                    valid.add(translation);
+                } else {
+                    final String requested = findLanguage(keyMissing, translation.getLang());
+                    if (requested != null) {
+                        keyMissing.remove(requested);
+                        translation.setLang(requested);
+                        valid.add(translation);
+                    }
+                }
+            }
+            if (result.containsKey(key) || !valid.isEmpty()) {
+                result.put(key, valid);
+            }
+            if (!keyMissing.isEmpty()) {
+                missing.put(key, keyMissing);
+            }
+        }
+        return missing;
+    }
+
+    private static boolean containsLanguage(final List<String> languages, final String language) {
+        return findLanguage(languages, language) != null;
+    }
+
+    /**
+     * Language tags are compared case-insensitively; callers match the validated translations against the requested
+     * tags exactly, so a match is rewritten to the requested spelling.
+     *
+     * @return the requested tag matching the given one, or null
+     */
+    private static String findLanguage(final List<String> languages, final String language) {
+        return languages.stream().filter(l -> l.equalsIgnoreCase(language)).findFirst().orElse(null);
+    }
+
+    private static <K> Map<K, String> subMap(final Map<K, String> values, final Collection<K> keys) {
+        final Map<K, String> subMap = new LinkedHashMap<>();
+        keys.forEach(key -> subMap.put(key, values.get(key)));
+        return subMap;
     }
 
     private static List<Translation> getMock(Locale locale, PromptOptions options) {
@@ -82,12 +536,112 @@ public class DefaultTranslationsAiService implements TranslationsAiService {
         return configurationService.getConfiguration().getBoolean(CONFIG_ENABLED, false);
     }
 
+    @Override
+    public void warmUp() {
+        final PromptOptions options = new PromptOptions();
+        options.setSourceLanguage(Locale.ENGLISH.toLanguageTag());
+        options.setTargetLanguages(Arrays.asList(Locale.GERMAN.toLanguageTag(), Locale.FRENCH.toLanguageTag()));
+        final MaskedText masked = getPlaceholderMasker().mask(WARM_UP_TEXT);
+        final Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("1", masked.getText());
+        sources.put("2", masked.getText());
+
+        final TokenEstimate estimate = new TokenEstimate();
+        for (final boolean enhance : new boolean[]{false, true}) {
+            options.setEnhanceSource(enhance);
+            estimate.add(TokenEstimator.estimate(
+                    PromptBuilder.buildTranslatePrompt(getPromptTemplates(), masked.getText(), Locale.ENGLISH, options), getModel()));
+            estimate.add(TokenEstimator.estimate(
+                    PromptBuilder.buildPackedTranslatePrompt(getPromptTemplates(), sources, Locale.ENGLISH, options), getModel()));
+            estimate.add(TokenEstimator.estimate(
+                    PromptBuilder.buildAttributesTranslatePrompt(getPromptTemplates(), sources, Locale.ENGLISH, options), getModel()));
+        }
+
+        // mock replies that carry the placeholders back, mapped as a real response would be
+        final Map<String, List<Translation>> result = new LinkedHashMap<>();
+        final List<String> mangled = new ArrayList<>();
+        for (final String key : sources.keySet()) {
+            final List<Translation> reply = new ArrayList<>();
+            options.getTargetLanguages().forEach(lang -> reply.add(new Translation(lang, masked.getText())));
+            result.put(key, restore(reply, masked, mangled));
+        }
+        validate(result, result.keySet(), options);
+        LOG.debug("Warm-up built {}", estimate);
+    }
+
+    /**
+     * Prompt templates are compiled once from configuration, so the system prefix stays byte-identical across requests
+     */
+    private PromptTemplates getPromptTemplates() {
+        if (promptTemplates == null) {
+            promptTemplates = PromptTemplates.fromConfiguration(configurationService.getConfiguration());
+        }
+        return promptTemplates;
+    }
+
+    private PlaceholderMasker getPlaceholderMasker() {
+        if (placeholderMasker == null) {
+            placeholderMasker = PlaceholderMasker.fromConfiguration(configurationService.getConfiguration());
+        }
+        return placeholderMasker;
+    }
+
+    /**
+     * Mask the protected parts of a source text
+     *
+     * @return the masked text, or null if masking is disabled or there is nothing to mask
+     */
+    private MaskedText mask(final String text) {
+        if (!configurationService.getConfiguration().getBoolean(CONFIG_MASKING_ENABLED, true)) {
+            return null;
+        }
+        final MaskedText masked = getPlaceholderMasker().mask(text);
+        return masked.getValues().isEmpty() ? null : masked;
+    }
+
+    /**
+     * Restore the placeholders of every translation; translations with mangled placeholders are left out and their
+     * languages added to {@code mangled}.
+     */
+    private static List<Translation> restore(final List<Translation> translations, final MaskedText masked, final List<String> mangled) {
+        if (masked == null) {
+            return new ArrayList<>(translations);
+        }
+        final List<Translation> restored = new ArrayList<>(translations.size());
+        for (final Translation translation : translations) {
+            final String description = PlaceholderMasker.unmask(translation.getDescription(), masked);
+            if (description == null) {
+                mangled.add(translation.getLang());
+            } else {
+                translation.setDescription(description);
+                restored.add(translation);
+            }
+        }
+        return restored;
+    }
+
+    private static PromptOptions withTargetLanguages(final PromptOptions options, final List<String> targetLanguages) {
+        final PromptOptions copy = new PromptOptions();
+        copy.setTone(options.getTone());
+        copy.setMaxLength(options.getMaxLength());
+        copy.setSourceLanguage(options.getSourceLanguage());
+        copy.setEnhanceSource(options.isEnhanceSource());
+        copy.setAttributes(options.getAttributes());
+        copy.setTargetLanguages(targetLanguages);
+        return copy;
+    }
+
+    private String getModel() {
+        return configurationService.getConfiguration().getString(CONFIG_MODEL, "gpt-5-nano");
+    }
+
     /**
      * Build AI client options from configuration
      */
-    private AiClientOptions buildClientOptions() {
+    @Override
+    public AiClientOptions getClientOptions() {
         final AiClientOptions options = new AiClientOptions();
-        options.setModel(configurationService.getConfiguration().getString(CONFIG_MODEL, "gpt-5-nano"));
+        options.setModel(getModel());
 
         final int timeoutMs = configurationService.getConfiguration().getInteger(CONFIG_TIMEOUT_MS, 20000);
         options.setTimeout(Duration.ofMillis(timeoutMs));
@@ -102,4 +656,8 @@ public class DefaultTranslationsAiService implements TranslationsAiService {
     public void setConfigurationService(final ConfigurationService configurationService) {
         this.configurationService = configurationService;
     }
+
+    public void setModelService(final ModelService modelService) {
+        this.modelService = modelService;
+    }
 }
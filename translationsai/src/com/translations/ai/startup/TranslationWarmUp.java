@@ -0,0 +1,61 @@
+package com.translations.ai.startup;
+
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import org.apache.commons.configuration.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.translations.ai.client.impl.OpenAiClient;
+import com.translations.ai.concurrent.TenantSessionRunner;
+import com.translations.ai.service.TranslationsAiService;
+
+/**
+ * Optional warm-up of the AI translation path at startup ({@code translationsai.warmup.enabled}), so the first editor
+ * request after a deploy runs at steady-state latency instead of paying for class loading, JSON schema generation,
+ * tokenizer loading, DNS and TLS. It exercises {@link TranslationsAiService#warmUp()} on sample data and prepares the
+ * {@link OpenAiClient}; a connection to the API is opened only outside mock mode and with
+ * {@code translationsai.warmup.connect}. The warm-up runs once in a background thread and never fails the startup.
+ */
+public class TranslationWarmUp {
+    private static final Logger LOG = LoggerFactory.getLogger(TranslationWarmUp.class);
+
+    private static final String CONFIG_ENABLED = "translationsai.warmup.enabled";
+    private static final String CONFIG_CONNECT = "translationsai.warmup.connect";
+    private static final String CONFIG_MOCK = "translationsai.mock.response";
+
+    private TranslationsAiService translationsAiService;
+    private OpenAiClient openAiClient;
+    private ConfigurationService configurationService;
+
+    public void start() {
+        if (!configurationService.getConfiguration().getBoolean(CONFIG_ENABLED, false) || !translationsAiService.isEnabled()) {
+            return;
+        }
+        TenantSessionRunner.namedThreads("translationsai-warmup-").newThread(this::warmUp).start();
+    }
+
+    private void warmUp() {
+        final long start = System.currentTimeMillis();
+        try {
+            translationsAiService.warmUp();
+            final Configuration config = configurationService.getConfiguration();
+            final boolean connect = config.getBoolean(CONFIG_CONNECT, true) && !config.getBoolean(CONFIG_MOCK, false);
+            // same model and timeout as the requests of the service, so the prepared client is reused by them
+            openAiClient.warmUp(translationsAiService.getClientOptions(), connect);
+            LOG.info("AI translation warm-up finished in {} ms", System.currentTimeMillis() - start);
+        } catch (final RuntimeException e) {
+            LOG.warn("AI translation warm-up failed after {} ms: {}", System.currentTimeMillis() - start, e.getMessage());
+        }
+    }
+
+    public void setTranslationsAiService(final TranslationsAiService translationsAiService) {
+        this.translationsAiService = translationsAiService;
+    }
+
+    public void setOpenAiClient(final OpenAiClient openAiClient) {
+        this.openAiClient = openAiClient;
+    }
+
+    public void setConfigurationService(final ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+}
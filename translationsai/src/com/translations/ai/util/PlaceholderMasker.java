@@ -0,0 +1,134 @@
+package com.translations.ai.util;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replaces parts of a text that must not be translated (HTML markup, URLs, SKUs and optionally numbers) with compact
+ * placeholders {@code {{n}}} before the text is sent to the AI, and restores them in the returned translations.
+ * <p>
+ * Adjacent tags collapse into a single placeholder, so markup-heavy descriptions with inline styles and attributes
+ * shrink to a fraction of their tokens, and the model does not have to regenerate the markup in every language.
+ * Number masking is off by default: a masked number keeps the decimal and thousands separators of the source language
+ * (e.g. "1,000.5" in a German text). Patterns are compiled once per instance; see {@link #fromConfiguration(Configuration)}
+ * for the properties.
+ */
+public final class PlaceholderMasker {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\d+)}}");
+
+    private static final String MARKUP = "(?:<[^<>]+>)+";
+    private static final String URL = "(?:https?://|www\\.)[^\\s<>\"']+";
+    private static final String NUMBER = "(?<![\\p{L}\\d])\\d+(?:[.,]\\d+)*(?![\\p{L}\\d])";
+    private static final String DEFAULT_SKU = "\\b(?=[A-Z0-9-]*\\d)(?=[A-Z0-9-]*[A-Z])[A-Z0-9]+(?:-[A-Z0-9]+)+\\b";
+
+    private final Pattern pattern;
+
+    public PlaceholderMasker(final boolean maskNumbers, final String skuPattern) {
+        // existing placeholder-like sequences are masked too, so they cannot be confused with ours
+        final StringBuilder regex = new StringBuilder(PLACEHOLDER.pattern()).append('|').append(MARKUP).append('|').append(URL);
+        if (StringUtils.isNotBlank(skuPattern)) {
+            regex.append('|').append(skuPattern);
+        }
+        if (maskNumbers) {
+            regex.append('|').append(NUMBER);
+        }
+        this.pattern = Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Create a masker from the properties {@code translationsai.masking.numbers} (default false) and
+     * {@code translationsai.masking.skuPattern} (default: upper-case, dash-separated codes containing a digit,
+     * e.g. "AB-1234-X"; empty to disable).
+     *
+     * @param configuration the platform configuration
+     * @return the masker
+     */
+    public static PlaceholderMasker fromConfiguration(final Configuration configuration) {
+        return new PlaceholderMasker(configuration.getBoolean("translationsai.masking.numbers", false),
+                configuration.getString("translationsai.masking.skuPattern", DEFAULT_SKU));
+    }
+
+    /**
+     * Mask the protected parts of a text.
+     *
+     * @param text the source text
+     * @return the masked text and the original values of its placeholders
+     */
+    public MaskedText mask(final String text) {
+        final Matcher matcher = pattern.matcher(text);
+        final List<String> values = new ArrayList<>();
+        final StringBuilder masked = new StringBuilder(text.length());
+        int last = 0;
+        while (matcher.find()) {
+            masked.append(text, last, matcher.start());
+            values.add(matcher.group());
+            masked.append("{{").append(values.size()).append("}}");
+            last = matcher.end();
+        }
+        masked.append(text, last, text.length());
+        return new MaskedText(masked.toString(), values);
+    }
+
+    /**
+     * Restore the placeholders of a translated text.
+     *
+     * @param translated the translated text returned by the AI
+     * @param masked     the masked source the translation was produced from
+     * @return the restored text, or null if placeholders are missing, duplicated or unknown
+     */
+    public static String unmask(final String translated, final MaskedText masked) {
+        if (translated == null) {
+            return null;
+        }
+        if (masked.getValues().isEmpty()) {
+            return translated;
+        }
+        final boolean[] seen = new boolean[masked.getValues().size()];
+        final Matcher matcher = PLACEHOLDER.matcher(translated);
+        final StringBuilder restored = new StringBuilder(translated.length() * 2);
+        int last = 0;
+        while (matcher.find()) {
+            final int index = Integer.parseInt(matcher.group(1)) - 1;
+            if (index < 0 || index >= seen.length || seen[index]) {
+                return null;
+            }
+            seen[index] = true;
+            restored.append(translated, last, matcher.start()).append(masked.getValues().get(index));
+            last = matcher.end();
+        }
+        for (final boolean found : seen) {
+            if (!found) {
+                return null;
+            }
+        }
+        return restored.append(translated, last, translated.length()).toString();
+    }
+
+    /**
+     * A masked text with the original values of its placeholders; placeholder {@code {{n}}} stands for value n-1.
+     */
+    public static final class MaskedText {
+        private final String text;
+        private final List<String> values;
+
+        MaskedText(final String text, final List<String> values) {
+            this.text = text;
+            this.values = Collections.unmodifiableList(values);
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public List<String> getValues() {
+            return values;
+        }
+    }
+}
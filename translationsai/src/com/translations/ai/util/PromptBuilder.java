@@ -1,22 +1,39 @@
 package com.translations.ai.util;
 
+import com.translations.ai.dto.request.Prompt;
+import com.translations.ai.dto.response.AttributesTranslationsResponse;
+import com.translations.ai.dto.response.PackedTranslationsResponse;
 import com.translations.ai.dto.response.Translation;
 import com.translations.ai.dto.response.TranslationsResponse;
 import org.apache.commons.lang3.StringUtils;
 import com.translations.ai.dto.options.PromptOptions;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 /**
- * Utility class for building AI prompts
+ * Utility class for building AI prompts.
+ * <p>
+ * Prompts consist of a static system part taken from precompiled {@link PromptTemplates} and a user part that holds
+ * all per-request values at the end, so that requests of the same kind share an identical prefix.
  */
 public final class PromptBuilder {
     private PromptBuilder() {
     }
 
+    /**
+     * Build a prompt for description processing with the default templates.
+     *
+     * @see #buildTranslatePrompt(PromptTemplates, String, Locale, PromptOptions)
+     */
+    public static Prompt buildTranslatePrompt(final String sourceDescription, final Locale locale, final PromptOptions options) {
+        return buildTranslatePrompt(PromptTemplates.DEFAULT, sourceDescription, locale, options);
+    }
+
     /**
      * Build a prompt for description processing. Behavior depends on {@link PromptOptions#isEnhanceSource()}:
      * - If true: first improve the original description in the base language, then translate the improved version
@@ -26,34 +43,92 @@ public final class PromptBuilder {
      * to return a structured {@link TranslationsResponse} that maps
      * to a list of {@link Translation} items (lang, description).
      */
-    public static String buildTranslatePrompt(final String sourceDescription, final Locale locale, final PromptOptions options) {
-        final boolean enhance = options != null && options.isEnhanceSource();
+    public static Prompt buildTranslatePrompt(final PromptTemplates templates, final String sourceDescription, final Locale locale,
+                                              final PromptOptions options) {
+        final String sourceLanguage = getSourceLanguage(locale, options);
+        final StringBuilder user = appendRequestValues(new StringBuilder(), locale, options);
+        user.append("Original description (base language ").append(sourceLanguage).append("):\n").append(sourceDescription.trim());
+        return new Prompt(templates.getSystemPrompt(isEnhance(options), PromptTemplates.Shape.SINGLE), user.toString(),
+                Collections.singletonList(sourceDescription.trim()), getTargets(locale, options).size());
+    }
 
-        final String sourceLanguage = Optional.ofNullable(options != null ? options.getSourceLanguage() : null)
-                .orElse(locale.toLanguageTag());
+    /**
+     * Build a prompt that processes the descriptions of several products in one request, with the same instructions
+     * as {@link #buildTranslatePrompt(PromptTemplates, String, Locale, PromptOptions)} applied to each of them.
+     * The OpenAI Java SDK is configured to return a structured {@link PackedTranslationsResponse} holding the
+     * translations per product, keyed by the identifiers given here.
+     *
+     * @param sourceDescriptions source descriptions keyed by product identifier, in prompt order
+     */
+    public static Prompt buildPackedTranslatePrompt(final PromptTemplates templates, final Map<String, String> sourceDescriptions,
+                                                    final Locale locale, final PromptOptions options) {
+        final String sourceLanguage = getSourceLanguage(locale, options);
+        final StringBuilder user = appendRequestValues(new StringBuilder(), locale, options);
+        final List<String> sourceTexts = new ArrayList<>(sourceDescriptions.size());
+        for (final Map.Entry<String, String> entry : sourceDescriptions.entrySet()) {
+            sourceTexts.add(entry.getValue().trim());
+            user.append("\n### Product id: ").append(entry.getKey())
+                    .append("\nOriginal description (base language ").append(sourceLanguage).append("):\n")
+                    .append(entry.getValue().trim()).append('\n');
+        }
+        return new Prompt(templates.getSystemPrompt(isEnhance(options), PromptTemplates.Shape.PACKED), user.toString(),
+                sourceTexts, getTargets(locale, options).size());
+    }
+
+    /**
+     * Build a prompt that processes several localized attributes of one product (e.g., name, summary, description)
+     * in one request, with the same instructions as {@link #buildTranslatePrompt(PromptTemplates, String, Locale, PromptOptions)}
+     * applied to each of them.
+     * The OpenAI Java SDK is configured to return a structured {@link AttributesTranslationsResponse} holding the
+     * translations per attribute, keyed by the attribute qualifiers given here.
+     *
+     * @param sourceValues source values keyed by attribute qualifier, in prompt order
+     */
+    public static Prompt buildAttributesTranslatePrompt(final PromptTemplates templates, final Map<String, String> sourceValues,
+                                                        final Locale locale, final PromptOptions options) {
+        final String sourceLanguage = getSourceLanguage(locale, options);
+        final StringBuilder user = appendRequestValues(new StringBuilder(), locale, options);
+        final List<String> sourceTexts = new ArrayList<>(sourceValues.size());
+        for (final Map.Entry<String, String> entry : sourceValues.entrySet()) {
+            sourceTexts.add(entry.getValue().trim());
+            user.append("\n### Field: ").append(entry.getKey())
+                    .append("\nOriginal text (base language ").append(sourceLanguage).append("):\n")
+                    .append(entry.getValue().trim()).append('\n');
+        }
+        return new Prompt(templates.getSystemPrompt(isEnhance(options), PromptTemplates.Shape.ATTRIBUTES), user.toString(),
+                sourceTexts, getTargets(locale, options).size());
+    }
+
+    private static StringBuilder appendRequestValues(final StringBuilder prompt, final Locale locale, final PromptOptions options) {
+        final String sourceLanguage = getSourceLanguage(locale, options);
         final String tone = Optional.ofNullable(options != null ? options.getTone() : null)
                 .orElse("neutral professional");
         final String length = (options != null && options.getMaxLength() != null)
                 ? ("Limit to " + options.getMaxLength() + " words.")
                 : "";
 
-        final List<String> targets = Optional.ofNullable(options != null ? options.getTargetLanguages() : null)
-                .orElse(enhance ? Collections.singletonList(sourceLanguage) : Collections.emptyList());
+        final List<String> targets = getTargets(locale, options);
 
-        final StringBuilder prompt = new StringBuilder();
-        if (enhance) {
-            prompt.append("You are an expert product copywriter and translator. First, improve the following product description in the base language keeping factual accuracy, " +
-                    "then translate that improved version into the requested languages.\n");
-        } else {
-            prompt.append("You are a precise product translator. Translate the original product description from the base language to the requested languages WITHOUT enhancing or rewriting it. Preserve meaning and important terms.\n");
-        }
         prompt.append("- Base language: ").append(sourceLanguage).append(".\n");
         prompt.append("- Requested output languages (IETF tags): ").append(String.join(", ", targets)).append(".\n");
         prompt.append("- Tone: ").append(tone).append(".\n");
         if (StringUtils.isNotBlank(length)) {
             prompt.append("- ").append(length).append("\n");
         }
-        prompt.append("Original description (base language ").append(sourceLanguage).append("):\n").append(sourceDescription.trim());
-        return prompt.toString();
+        return prompt;
+    }
+
+    private static List<String> getTargets(final Locale locale, final PromptOptions options) {
+        return Optional.ofNullable(options != null ? options.getTargetLanguages() : null)
+                .orElse(isEnhance(options) ? Collections.singletonList(getSourceLanguage(locale, options)) : Collections.emptyList());
+    }
+
+    private static boolean isEnhance(final PromptOptions options) {
+        return options != null && options.isEnhanceSource();
+    }
+
+    private static String getSourceLanguage(final Locale locale, final PromptOptions options) {
+        return Optional.ofNullable(options != null ? options.getSourceLanguage() : null)
+                .orElse(locale.toLanguageTag());
     }
 }
@@ -0,0 +1,109 @@
+package com.translations.ai.util;
+
+import org.apache.commons.configuration.Configuration;
+
+/**
+ * Precompiled system prompt templates.
+ * <p>
+ * One system prompt is assembled per combination of mode (translate-only, enhance + translate) and request shape
+ * (single text, packed products, multiple attributes) when the templates are created, so every request of the same
+ * kind sends a byte-identical system prefix. All per-request values belong in the user message built by
+ * {@link PromptBuilder}. The default prefixes are a few hundred tokens long, below the 1024-token minimum of the
+ * provider's automatic prompt caching; only overridden templates that are long enough (e.g. with a glossary or style
+ * guide) get cache hits.
+ * <p>
+ * The placeholder instructions are only included while placeholder masking ({@code translationsai.masking.enabled}) is
+ * active. The parts can be overridden with the properties {@code translationsai.prompt.system.translate},
+ * {@code translationsai.prompt.system.enhance}, {@code translationsai.prompt.system.packed} and
+ * {@code translationsai.prompt.system.attributes}.
+ */
+public final class PromptTemplates {
+
+    /**
+     * Shape of the variable part of a request.
+     */
+    public enum Shape {
+        SINGLE, PACKED, ATTRIBUTES
+    }
+
+    static final String TRANSLATE_INSTRUCTIONS = "You are a precise product translator. Translate the original product description "
+            + "from the base language to the requested languages WITHOUT enhancing or rewriting it. Preserve meaning and important terms.";
+
+    static final String ENHANCE_INSTRUCTIONS = "You are an expert product copywriter and translator. First, improve the product "
+            + "description in the base language keeping factual accuracy, then translate that improved version into the requested languages.";
+
+    static final String COMMON_INSTRUCTIONS = "The user message lists the base language, the requested output languages (IETF tags), "
+            + "the tone and an optional length limit, followed by the original text.";
+
+    static final String PLACEHOLDER_INSTRUCTIONS = "Tokens like {{1}} are placeholders for markup, links, product codes or numbers: "
+            + "copy every placeholder unchanged and exactly once into each translation.";
+
+    static final String PACKED_INSTRUCTIONS = "The original text contains several products, each introduced by a line "
+            + "'### Product id: <id>'. Process each product independently and return one result per product id, "
+            + "with translations for every requested language.";
+
+    static final String ATTRIBUTES_INSTRUCTIONS = "The original text contains several fields of the same product, each introduced by a line "
+            + "'### Field: <name>'. Process each field separately and return one result per field name, with translations for "
+            + "every requested language. Keep short fields such as the name short.";
+
+    /**
+     * Templates with the built-in instructions.
+     */
+    public static final PromptTemplates DEFAULT = new PromptTemplates(TRANSLATE_INSTRUCTIONS, ENHANCE_INSTRUCTIONS,
+            PACKED_INSTRUCTIONS, ATTRIBUTES_INSTRUCTIONS, true);
+
+    private final String[] systemPrompts = new String[2 * Shape.values().length];
+
+    /**
+     * @param placeholders whether source texts are masked, so the model must be told about placeholders
+     */
+    public PromptTemplates(final String translateInstructions, final String enhanceInstructions,
+                           final String packedInstructions, final String attributesInstructions, final boolean placeholders) {
+        for (final Shape shape : Shape.values()) {
+            final String shapeInstructions = shape == Shape.PACKED ? packedInstructions
+                    : shape == Shape.ATTRIBUTES ? attributesInstructions : null;
+            systemPrompts[index(false, shape)] = compile(translateInstructions, shapeInstructions, placeholders);
+            systemPrompts[index(true, shape)] = compile(enhanceInstructions, shapeInstructions, placeholders);
+        }
+    }
+
+    /**
+     * Create templates from configuration, falling back to the built-in instructions for missing properties.
+     *
+     * @param configuration the platform configuration
+     * @return the precompiled templates
+     */
+    public static PromptTemplates fromConfiguration(final Configuration configuration) {
+        return new PromptTemplates(
+                configuration.getString("translationsai.prompt.system.translate", TRANSLATE_INSTRUCTIONS),
+                configuration.getString("translationsai.prompt.system.enhance", ENHANCE_INSTRUCTIONS),
+                configuration.getString("translationsai.prompt.system.packed", PACKED_INSTRUCTIONS),
+                configuration.getString("translationsai.prompt.system.attributes", ATTRIBUTES_INSTRUCTIONS),
+                configuration.getBoolean("translationsai.masking.enabled", true));
+    }
+
+    /**
+     * @param enhance true for enhance + translate, false for translate-only
+     * @param shape   the request shape
+     * @return the static system prompt for this kind of request
+     */
+    public String getSystemPrompt(final boolean enhance, final Shape shape) {
+        return systemPrompts[index(enhance, shape)];
+    }
+
+    private static int index(final boolean enhance, final Shape shape) {
+        return shape.ordinal() * 2 + (enhance ? 1 : 0);
+    }
+
+    private static String compile(final String modeInstructions, final String shapeInstructions, final boolean placeholders) {
+        final StringBuilder system = new StringBuilder(modeInstructions.trim()).append('\n')
+                .append(COMMON_INSTRUCTIONS).append('\n');
+        if (placeholders) {
+            system.append(PLACEHOLDER_INSTRUCTIONS).append('\n');
+        }
+        if (shapeInstructions != null) {
+            system.append(shapeInstructions.trim()).append('\n');
+        }
+        return system.toString();
+    }
+}
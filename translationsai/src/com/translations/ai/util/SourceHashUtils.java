@@ -0,0 +1,51 @@
+package com.translations.ai.util;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Map;
+
+/**
+ * Utility class for fingerprinting source descriptions.
+ * <p>
+ * The hash is taken from the trimmed text so that whitespace-only edits at the edges
+ * do not mark existing translations as stale. Several attributes are hashed together, so a change to any of them
+ * marks the translations as stale.
+ */
+public final class SourceHashUtils {
+    private SourceHashUtils() {
+    }
+
+    /**
+     * Compute the SHA-256 hex hash of a source description.
+     *
+     * @param sourceDescription the source text, may be null
+     * @return the hash, or null if the text is blank
+     */
+    public static String hash(final String sourceDescription) {
+        if (StringUtils.isBlank(sourceDescription)) {
+            return null;
+        }
+        return DigestUtils.sha256Hex(sourceDescription.trim());
+    }
+
+    /**
+     * Compute the SHA-256 hex hash of several source values. A single value hashes like {@link #hash(String)}, so
+     * states recorded for the description alone stay valid.
+     *
+     * @param sourceValues source texts keyed by attribute qualifier, in a stable order; values may be null
+     * @return the hash, or null if all texts are blank
+     */
+    public static String hash(final Map<String, String> sourceValues) {
+        if (sourceValues.size() == 1) {
+            return hash(sourceValues.values().iterator().next());
+        }
+        final StringBuilder text = new StringBuilder();
+        sourceValues.forEach((qualifier, value) -> {
+            if (StringUtils.isNotBlank(value)) {
+                text.append(qualifier).append('\u0000').append(value.trim()).append('\u0000');
+            }
+        });
+        return text.length() == 0 ? null : DigestUtils.sha256Hex(text.toString());
+    }
+}
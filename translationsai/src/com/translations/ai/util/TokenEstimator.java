@@ -0,0 +1,104 @@
+package com.translations.ai.util;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.apache.commons.lang3.StringUtils;
+import com.translations.ai.dto.request.Prompt;
+import com.translations.ai.dto.request.TokenEstimate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Utility class for local token estimates used to size and budget requests before they are sent.
+ * <p>
+ * Texts are counted with the BPE encoding of the configured model (jtokkit). Models the registry does not know,
+ * e.g. newer ones, are counted with o200k_base, the encoding of the GPT-4o, GPT-4.1, GPT-5 and o-series models.
+ */
+public final class TokenEstimator {
+
+    private static final EncodingRegistry REGISTRY = Encodings.newLazyEncodingRegistry();
+    private static final Map<String, Encoding> ENCODINGS = new ConcurrentHashMap<>();
+
+    /**
+     * Chat format tokens per message plus the tokens priming the reply.
+     */
+    private static final int MESSAGE_OVERHEAD = 2 * 4 + 3;
+    /**
+     * Approximate size of the structured-response JSON schema sent with every request.
+     */
+    private static final int SCHEMA_TOKENS = 120;
+    /**
+     * JSON keys, language tag and punctuation around each generated translation.
+     */
+    private static final int TRANSLATION_OVERHEAD = 12;
+    /**
+     * Translations from English are longer in tokens than their source, most in non-Latin scripts.
+     */
+    private static final double OUTPUT_EXPANSION = 1.3;
+
+    private TokenEstimator() {
+    }
+
+    /**
+     * Count the tokens of a text with the encoding of a model.
+     *
+     * @param text  the text, may be null
+     * @param model the model name, may be null for the default encoding
+     * @return the token count
+     */
+    public static int count(final String text, final String model) {
+        if (StringUtils.isEmpty(text)) {
+            return 0;
+        }
+        return getEncoding(model).countTokens(text);
+    }
+
+    /**
+     * Count the tokens of a text with the default encoding.
+     *
+     * @param text the text, may be null
+     * @return the token count
+     */
+    public static int estimate(final String text) {
+        return count(text, null);
+    }
+
+    /**
+     * Estimate the tokens a description costs in a translation request: the source text in the prompt plus one
+     * generated copy per target language.
+     *
+     * @param sourceDescription the source text
+     * @param targetLanguages   number of target languages
+     * @param model             the model name, may be null
+     * @return the estimated prompt and completion tokens
+     */
+    public static int estimateTranslation(final String sourceDescription, final int targetLanguages, final String model) {
+        final int source = count(sourceDescription, model);
+        return source + (int) Math.ceil(source * OUTPUT_EXPANSION + TRANSLATION_OVERHEAD) * Math.max(1, targetLanguages);
+    }
+
+    /**
+     * Estimate the prompt and expected completion tokens of a request built by {@link PromptBuilder}.
+     *
+     * @param prompt the prompt
+     * @param model  the model name, may be null
+     * @return the estimate of the request
+     */
+    public static TokenEstimate estimate(final Prompt prompt, final String model) {
+        final long promptTokens = count(prompt.getSystem(), model) + count(prompt.getUser(), model) + MESSAGE_OVERHEAD + SCHEMA_TOKENS;
+        final int languages = Math.max(1, prompt.getOutputLanguages());
+        long completionTokens = 0;
+        for (final String sourceText : prompt.getSourceTexts()) {
+            completionTokens += (long) Math.ceil(count(sourceText, model) * OUTPUT_EXPANSION + TRANSLATION_OVERHEAD) * languages;
+        }
+        return new TokenEstimate(promptTokens, completionTokens);
+    }
+
+    private static Encoding getEncoding(final String model) {
+        return ENCODINGS.computeIfAbsent(StringUtils.defaultString(model), name -> REGISTRY.getEncodingForModel(name)
+                .orElseGet(() -> REGISTRY.getEncoding(EncodingType.O200K_BASE)));
+    }
+}
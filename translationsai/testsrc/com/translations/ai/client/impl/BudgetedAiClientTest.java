@@ -0,0 +1,129 @@
+package com.translations.ai.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import com.translations.ai.client.AiClient;
+import com.translations.ai.concurrent.TranslationScheduler;
+import com.translations.ai.dto.options.AiClientOptions;
+import com.translations.ai.dto.request.Prompt;
+import com.translations.ai.dto.request.TokenEstimate;
+import com.translations.ai.dto.response.Translation;
+import com.translations.ai.exception.AiClientException;
+import com.translations.ai.exception.TokenBudgetExceededException;
+import com.translations.ai.metrics.AiUsageStatistics;
+import com.translations.ai.service.TokenBudgetService;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reservation of token budgets before a request and settlement with the usage reported by the provider.
+ */
+@UnitTest
+public class BudgetedAiClientTest {
+
+    private static final String JOB = "bulk:1";
+
+    private final AiClient delegate = mock(AiClient.class);
+    private final TokenBudgetService tokenBudgetService = mock(TokenBudgetService.class);
+    private final TranslationScheduler translationScheduler = mock(TranslationScheduler.class);
+    private final AiUsageStatistics usageStatistics = new AiUsageStatistics();
+    private final BudgetedAiClient client = new BudgetedAiClient();
+    private final Prompt prompt = new Prompt("Translate the text.", "Gentle daily cleanser",
+            Collections.singletonList("Gentle daily cleanser"), 2);
+    private final AiClientOptions options = new AiClientOptions();
+
+    @Before
+    public void setUp() {
+        client.setDelegate(delegate);
+        client.setTokenBudgetService(tokenBudgetService);
+        client.setTranslationScheduler(translationScheduler);
+        client.setUsageStatistics(usageStatistics);
+        when(translationScheduler.getCurrentOwner()).thenReturn(JOB);
+        options.setModel("gpt-5-nano");
+    }
+
+    @Test
+    public void settlesTheReservationWithTheReportedUsage() {
+        final List<Translation> translations = Collections.singletonList(new Translation("de", "Sanfter Reiniger"));
+        when(delegate.translate(prompt, options)).thenAnswer(invocation -> {
+            usageStatistics.recordUsage(120L, 0L, 30L);
+            return translations;
+        });
+
+        assertSame(translations, client.translate(prompt, options));
+
+        final ArgumentCaptor<TokenEstimate> reserved = ArgumentCaptor.forClass(TokenEstimate.class);
+        final ArgumentCaptor<TokenEstimate> used = ArgumentCaptor.forClass(TokenEstimate.class);
+        verify(tokenBudgetService).reserve(reserved.capture(), eq(JOB));
+        verify(tokenBudgetService).settle(eq(reserved.getValue()), used.capture(), eq(JOB));
+        assertEquals(150L, used.getValue().getTotalTokens());
+        assertNull(usageStatistics.takeLastUsage());
+    }
+
+    @Test
+    public void refundsAFailedRequest() {
+        when(delegate.translate(prompt, options)).thenThrow(new AiClientException("timeout"));
+
+        try {
+            client.translate(prompt, options);
+            fail("Expected the failure of the request");
+        } catch (final AiClientException e) {
+            assertEquals("timeout", e.getMessage());
+        }
+
+        final ArgumentCaptor<TokenEstimate> reserved = ArgumentCaptor.forClass(TokenEstimate.class);
+        verify(tokenBudgetService).reserve(reserved.capture(), eq(JOB));
+        verify(tokenBudgetService).settle(reserved.getValue(), null, JOB);
+    }
+
+    @Test
+    public void keepsTheEstimateOfAnAnswerWithoutUsage() {
+        when(delegate.translate(prompt, options)).thenReturn(Collections.emptyList());
+
+        client.translate(prompt, options);
+
+        verify(tokenBudgetService, never()).settle(any(TokenEstimate.class), any(), anyString());
+    }
+
+    @Test
+    public void ignoresUsageOfEarlierRequests() {
+        usageStatistics.recordUsage(1000L, 0L, 500L);
+        when(delegate.translate(prompt, options)).thenReturn(Collections.emptyList());
+
+        client.translate(prompt, options);
+
+        verify(tokenBudgetService, never()).settle(any(TokenEstimate.class), any(), anyString());
+    }
+
+    @Test
+    public void doesNotSendARejectedRequest() {
+        doThrow(new TokenBudgetExceededException("Daily token budget (1000) is used up", true))
+                .when(tokenBudgetService).reserve(any(TokenEstimate.class), eq(JOB));
+
+        try {
+            client.translate(prompt, options);
+            fail("Expected the request to be rejected");
+        } catch (final TokenBudgetExceededException e) {
+            // expected
+        }
+
+        verify(delegate, never()).translate(any(Prompt.class), any(AiClientOptions.class));
+        verify(tokenBudgetService, never()).settle(any(TokenEstimate.class), any(), anyString());
+    }
+}
@@ -0,0 +1,121 @@
+package com.translations.ai.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+
+@UnitTest
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST_NANOS = 200_000_000L;
+    private static final long EXPECTED_TOKENS = 300L;
+
+    private final BaseConfiguration configuration = new BaseConfiguration();
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter();
+
+    @Before
+    public void setUp() {
+        configuration.setProperty("translationsai.limiter.initialLimit", "4");
+        configuration.setProperty("translationsai.limiter.minLimit", "1");
+        configuration.setProperty("translationsai.limiter.maxLimit", "8");
+        configuration.setProperty("translationsai.limiter.window", "5");
+        configuration.setProperty("translationsai.limiter.backoffRatio", "0.5");
+        final ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.getConfiguration()).thenReturn(configuration);
+        limiter.setConfigurationService(configurationService);
+    }
+
+    @Test
+    public void growsWhileLatencyStaysAtTheBaseline() {
+        limiter.init();
+
+        for (int i = 0; i < 15; i++) {
+            limiter.onSuccess(FAST_NANOS, EXPECTED_TOKENS, limiter.getLimit());
+        }
+        assertEquals(5, limiter.getLimit());
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSuccess(FAST_NANOS, EXPECTED_TOKENS, limiter.getLimit());
+        }
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    public void doesNotGrowWhileTheLimitIsNotUsed() {
+        limiter.init();
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess(FAST_NANOS, EXPECTED_TOKENS, 1);
+        }
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    public void shrinksAsLatencyRises() {
+        configuration.setProperty("translationsai.limiter.initialLimit", "8");
+        limiter.init();
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess(FAST_NANOS, EXPECTED_TOKENS, 8);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSuccess(4 * FAST_NANOS, EXPECTED_TOKENS, 8);
+        }
+
+        assertTrue(limiter.getLimit() < 8);
+    }
+
+    @Test
+    public void normalizesLatencyByExpectedTokens() {
+        configuration.setProperty("translationsai.limiter.initialLimit", "8");
+        limiter.init();
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess(FAST_NANOS, EXPECTED_TOKENS, 8);
+        }
+
+        // four times the output in four times the time is no slowdown
+        for (int i = 0; i < 20; i++) {
+            limiter.onSuccess(4 * FAST_NANOS, 4 * EXPECTED_TOKENS + 300, 8);
+        }
+
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    public void cutsTheLimitOncePerRoundTrip() {
+        limiter.init();
+        final long admitted = System.nanoTime();
+
+        limiter.onOverload(admitted);
+        assertEquals(2, limiter.getLimit());
+
+        // concurrent requests admitted before the cut fail as well
+        limiter.onOverload(admitted);
+        limiter.onOverload(admitted);
+        assertEquals(2, limiter.getLimit());
+
+        limiter.onOverload(System.nanoTime());
+        assertEquals(1, limiter.getLimit());
+
+        limiter.onOverload(System.nanoTime());
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    public void keepsTheMaximumWhenDisabled() {
+        configuration.setProperty("translationsai.limiter.enabled", "false");
+        limiter.init();
+
+        limiter.onOverload(System.nanoTime());
+
+        assertEquals(8, limiter.getLimit());
+    }
+}
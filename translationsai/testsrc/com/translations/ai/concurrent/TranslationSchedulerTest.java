@@ -0,0 +1,244 @@
+package com.translations.ai.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.translations.ai.exception.AiClientException;
+import com.translations.ai.metrics.QueueWaitStatistics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Admission order of the scheduler. Requests run on their own threads and record when they are admitted; the slots
+ * are held by requests blocked on a latch.
+ */
+@UnitTest
+public class TranslationSchedulerTest {
+
+    private static final long TIMEOUT_MS = 5000L;
+
+    private final BaseConfiguration configuration = new BaseConfiguration();
+    private final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter = mock(AdaptiveConcurrencyLimiter.class);
+    private final TranslationScheduler scheduler = new TranslationScheduler();
+    private final List<String> admitted = new CopyOnWriteArrayList<>();
+    private final CountDownLatch hold = new CountDownLatch(1);
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+
+    @Before
+    public void setUp() {
+        configuration.setProperty("translationsai.scheduler.maxWait.ms", "60000");
+        final ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.getConfiguration()).thenReturn(configuration);
+        when(adaptiveConcurrencyLimiter.getLimit()).thenReturn(8);
+        scheduler.setConfigurationService(configurationService);
+        scheduler.setAdaptiveConcurrencyLimiter(adaptiveConcurrencyLimiter);
+        scheduler.setQueueWaitStatistics(new QueueWaitStatistics());
+    }
+
+    @After
+    public void tearDown() {
+        hold.countDown();
+        threads.shutdownNow();
+    }
+
+    @Test
+    public void reservesSlotsForInteractiveRequests() throws Exception {
+        init(2, 1);
+        final Future<?> bulk = submit(TranslationPriority.BULK, "task", "bulk-1", hold);
+        awaitRunning(1);
+
+        final Future<?> waiting = submit(TranslationPriority.BULK, "task", "bulk-2", null);
+        awaitQueued(TranslationPriority.BULK, 1);
+        submit(TranslationPriority.INTERACTIVE, "user", "interactive", null).get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        assertEquals(1, scheduler.getQueued(TranslationPriority.BULK));
+
+        hold.countDown();
+        bulk.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        waiting.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList("bulk-1", "interactive", "bulk-2"), admitted);
+    }
+
+    @Test
+    public void admitsByPriorityAndRoundRobinAcrossOwners() throws Exception {
+        init(1, 0);
+        final Future<?> holder = submit(TranslationPriority.INTERACTIVE, "user", "interactive", hold);
+        awaitRunning(1);
+
+        final List<Future<?>> requests = Arrays.asList(
+                submit(TranslationPriority.BULK, "task-a", "a-1", null, TranslationPriority.BULK, 1),
+                submit(TranslationPriority.BULK, "task-a", "a-2", null, TranslationPriority.BULK, 2),
+                submit(TranslationPriority.BULK, "task-b", "b-1", null, TranslationPriority.BULK, 3),
+                submit(TranslationPriority.EVENT, "queue", "event", null, TranslationPriority.EVENT, 1));
+
+        hold.countDown();
+        holder.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        for (final Future<?> request : requests) {
+            request.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(Arrays.asList("interactive", "event", "a-1", "b-1", "a-2"), admitted);
+    }
+
+    @Test
+    public void admitsStarvedRequestsFirst() throws Exception {
+        configuration.setProperty("translationsai.scheduler.maxWait.ms", "100");
+        init(1, 0);
+        final Future<?> holder = submit(TranslationPriority.INTERACTIVE, "user", "interactive", hold);
+        awaitRunning(1);
+
+        final Future<?> bulk = submit(TranslationPriority.BULK, "task", "bulk", null, TranslationPriority.BULK, 1);
+        Thread.sleep(200L);
+        final Future<?> event = submit(TranslationPriority.EVENT, "queue", "event", null, TranslationPriority.EVENT, 1);
+
+        hold.countDown();
+        holder.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        bulk.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        event.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList("interactive", "bulk", "event"), admitted);
+    }
+
+    @Test
+    public void holdsBackgroundRequestsWhilePaused() throws Exception {
+        init(2, 0);
+        scheduler.setBackgroundPaused(true);
+
+        final Future<?> event = submit(TranslationPriority.EVENT, "queue", "event", null, TranslationPriority.EVENT, 1);
+        submit(TranslationPriority.INTERACTIVE, "user", "interactive", null).get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        assertEquals(1, scheduler.getQueued(TranslationPriority.EVENT));
+
+        scheduler.setBackgroundPaused(false);
+        event.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList("interactive", "event"), admitted);
+    }
+
+    @Test
+    public void cancelsWaitingRequestsWhilePaused() throws Exception {
+        init(2, 0);
+        scheduler.setBackgroundPaused(true);
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final Future<?> bulk = threads.submit(() -> scheduler.callAs(TranslationPriority.BULK, "job", cancelled::get,
+                () -> scheduler.execute(TranslationPriority.BULK, "job", 0L, () -> admitted.add("bulk"))));
+        awaitQueued(TranslationPriority.BULK, 1);
+
+        cancelled.set(true);
+
+        try {
+            bulk.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            fail("Cancelled request was admitted");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof AiClientException);
+        }
+        assertEquals(0, scheduler.getQueued(TranslationPriority.BULK));
+        assertTrue(admitted.isEmpty());
+    }
+
+    @Test
+    public void feedsOnlyBackgroundRequestsIntoTheLimiter() throws Exception {
+        init(3, 1);
+        final Future<?> holder = submit(TranslationPriority.INTERACTIVE, "user", "interactive", hold);
+        awaitRunning(1);
+
+        submit(TranslationPriority.BULK, "task", "bulk", null).get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        hold.countDown();
+        holder.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+        verify(adaptiveConcurrencyLimiter).onSuccess(anyLong(), eq(0L), eq(1));
+        verify(adaptiveConcurrencyLimiter, times(1)).onSuccess(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    public void keepsTheContextOfNestedWork() {
+        init(1, 0);
+        final BooleanSupplier never = () -> false;
+
+        scheduler.callAs(TranslationPriority.BULK, "task", never, () -> {
+            scheduler.callAs(TranslationPriority.INTERACTIVE, "user", () -> {
+                assertEquals(TranslationPriority.INTERACTIVE, scheduler.getCurrentPriority());
+                return null;
+            });
+            assertEquals(TranslationPriority.BULK, scheduler.getCurrentPriority());
+            assertEquals("task", scheduler.getCurrentOwner());
+            return null;
+        });
+        assertNull(scheduler.getCurrentPriority());
+        assertNull(scheduler.getCurrentOwner());
+    }
+
+    private void init(final int maxConcurrency, final int reservedInteractive) {
+        configuration.setProperty("translationsai.scheduler.maxConcurrency", String.valueOf(maxConcurrency));
+        configuration.setProperty("translationsai.scheduler.reservedInteractive", String.valueOf(reservedInteractive));
+        scheduler.init();
+    }
+
+    /**
+     * Submit a request and wait until it is queued as the given number of its class.
+     */
+    private Future<?> submit(final TranslationPriority priority, final String owner, final String name, final CountDownLatch latch,
+                             final TranslationPriority queuedPriority, final int queued) throws InterruptedException {
+        final Future<?> request = submit(priority, owner, name, latch);
+        awaitQueued(queuedPriority, queued);
+        return request;
+    }
+
+    /**
+     * Submit a request that records its admission and then waits for the latch, if any.
+     */
+    private Future<?> submit(final TranslationPriority priority, final String owner, final String name, final CountDownLatch latch) {
+        return threads.submit(() -> scheduler.execute(priority, owner, 0L, () -> {
+            admitted.add(name);
+            if (latch != null) {
+                try {
+                    latch.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return name;
+        }));
+    }
+
+    private void awaitQueued(final TranslationPriority priority, final int queued) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (scheduler.getQueued(priority) != queued) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError(new TimeoutException(queued + " " + priority + " requests not queued"));
+            }
+            Thread.sleep(5L);
+        }
+    }
+
+    private void awaitRunning(final int running) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (scheduler.getRunning() != running) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError(new TimeoutException(running + " requests not running"));
+            }
+            Thread.sleep(5L);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.translations.ai.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.core.PK;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import de.hybris.platform.servicelayer.model.ModelService;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.translations.ai.concurrent.TenantSessionRunner;
+import com.translations.ai.concurrent.TranslationPriority;
+import com.translations.ai.concurrent.TranslationScheduler;
+import com.translations.ai.dto.bulk.BulkTranslationProgress;
+import com.translations.ai.dto.bulk.ProductTranslationDelta;
+import com.translations.ai.service.ProductTranslationService;
+import com.translations.ai.service.TokenBudgetService;
+import com.translations.ai.service.TranslationWriter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Progress and cancellation of bulk tasks. Chunks run on a single worker in submission order; the product translation
+ * service records the products and scheduling context of every chunk.
+ */
+@UnitTest
+public class DefaultBulkTranslationServiceTest {
+
+    private static final long TIMEOUT_MS = 5000L;
+    private static final List<String> LANGUAGES = Collections.singletonList("de");
+
+    private final BaseConfiguration configuration = new BaseConfiguration();
+    private final ProductTranslationService productTranslationService = mock(ProductTranslationService.class);
+    private final TranslationWriter translationWriter = mock(TranslationWriter.class);
+    private final ModelService modelService = mock(ModelService.class);
+    private final TenantSessionRunner tenantSessionRunner = mock(TenantSessionRunner.class);
+    private final TokenBudgetService tokenBudgetService = mock(TokenBudgetService.class);
+    private final TranslationScheduler translationScheduler = new TranslationScheduler();
+    private final DefaultBulkTranslationService service = new DefaultBulkTranslationService();
+    private final List<List<String>> chunks = new CopyOnWriteArrayList<>();
+    private final List<String> owners = new CopyOnWriteArrayList<>();
+    private final List<String> failing = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() {
+        configuration.setProperty("translationsai.bulk.threads", "1");
+        configuration.setProperty("translationsai.bulk.chunkSize", "2");
+        final ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.getConfiguration()).thenReturn(configuration);
+        service.setConfigurationService(configurationService);
+        service.setProductTranslationService(productTranslationService);
+        service.setTranslationWriter(translationWriter);
+        service.setModelService(modelService);
+        service.setTenantSessionRunner(tenantSessionRunner);
+        service.setTranslationScheduler(translationScheduler);
+        service.setTokenBudgetService(tokenBudgetService);
+
+        when(tenantSessionRunner.run(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(productTranslationService.translateAll(anyList(), any(Locale.class))).thenAnswer(invocation -> {
+            final List<ProductTranslationDelta> deltas = invocation.getArgument(0);
+            chunks.add(deltas.stream().map(delta -> delta.getProduct().getCode()).collect(Collectors.toList()));
+            owners.add(translationScheduler.getCurrentPriority() + " " + translationScheduler.getCurrentOwner());
+            return deltas.stream()
+                    .filter(delta -> failing.contains(delta.getProduct().getCode()))
+                    .collect(Collectors.toList());
+        });
+        service.init();
+    }
+
+    @After
+    public void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    public void reportsTheProgressOfEveryChunk() throws InterruptedException {
+        failing.add("p3");
+
+        final BulkTranslationProgress progress = service.submit(products(5), Locale.ENGLISH, LANGUAGES);
+        awaitFinished(progress);
+
+        assertEquals(BulkTranslationProgress.Status.FINISHED, progress.getStatus());
+        assertEquals(5, progress.getTotal());
+        assertEquals(4, progress.getTranslated());
+        assertEquals(1, progress.getFailed());
+        assertEquals(Arrays.asList(Arrays.asList("p1", "p2"), Arrays.asList("p3", "p4"), Collections.singletonList("p5")), chunks);
+        final String job = "bulk:" + progress.getTaskId();
+        assertEquals(Collections.nCopies(3, TranslationPriority.BULK + " " + job), owners);
+        verify(tokenBudgetService).startJob(job);
+        verify(tokenBudgetService).finishJob(job);
+        verify(translationWriter).flush();
+        assertEquals(progress, service.getProgress(progress.getTaskId()));
+    }
+
+    @Test
+    public void countsEveryProductOnce() throws InterruptedException {
+        final List<ProductModel> products = products(2);
+        products.add(products.get(0));
+
+        final BulkTranslationProgress progress = service.submit(products, Locale.ENGLISH, LANGUAGES);
+        awaitFinished(progress);
+
+        assertEquals(2, progress.getTotal());
+        assertEquals(2, progress.getTranslated());
+    }
+
+    @Test
+    public void finishesAnEmptyTaskImmediately() {
+        final BulkTranslationProgress progress = service.submit(Collections.emptyList(), Locale.ENGLISH, LANGUAGES);
+
+        assertEquals(BulkTranslationProgress.Status.FINISHED, progress.getStatus());
+        verify(tokenBudgetService).finishJob("bulk:" + progress.getTaskId());
+    }
+
+    @Test
+    public void failsTheRemainingChunksOnceTheBudgetIsUsedUp() throws InterruptedException {
+        when(tokenBudgetService.isExhausted(anyString())).thenReturn(false, true);
+
+        final BulkTranslationProgress progress = service.submit(products(5), Locale.ENGLISH, LANGUAGES);
+        awaitFinished(progress);
+
+        assertEquals(1, chunks.size());
+        assertEquals(2, progress.getTranslated());
+        assertEquals(3, progress.getFailed());
+    }
+
+    @Test
+    public void countsAFailedChunkAsFailed() throws InterruptedException {
+        doThrow(new IllegalStateException("System not initialized")).doReturn(Collections.emptyList())
+                .when(productTranslationService).translateAll(anyList(), any(Locale.class));
+
+        final BulkTranslationProgress progress = service.submit(products(3), Locale.ENGLISH, LANGUAGES);
+        awaitFinished(progress);
+
+        assertEquals(BulkTranslationProgress.Status.FINISHED, progress.getStatus());
+        assertEquals(1, progress.getTranslated());
+        assertEquals(2, progress.getFailed());
+    }
+
+    @Test
+    public void skipsTheRemainingChunksOfACancelledTask() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            assertTrue(release.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+            return Collections.emptyList();
+        }).when(productTranslationService).translateAll(anyList(), any(Locale.class));
+
+        final BulkTranslationProgress progress = service.submit(products(5), Locale.ENGLISH, LANGUAGES);
+        assertTrue(started.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        service.cancel(progress.getTaskId());
+        release.countDown();
+        awaitJobFinished(progress);
+
+        assertEquals(BulkTranslationProgress.Status.CANCELLED, progress.getStatus());
+        assertEquals(2, progress.getTranslated());
+        verify(productTranslationService, times(1)).translateAll(anyList(), any(Locale.class));
+        verify(translationWriter, never()).flush();
+    }
+
+    @Test
+    public void ignoresTheCancellationOfAFinishedTask() throws InterruptedException {
+        final BulkTranslationProgress progress = service.submit(products(1), Locale.ENGLISH, LANGUAGES);
+        awaitFinished(progress);
+
+        service.cancel(progress.getTaskId());
+
+        assertEquals(BulkTranslationProgress.Status.FINISHED, progress.getStatus());
+    }
+
+    private List<ProductModel> products(final int count) {
+        final List<ProductModel> products = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            final ProductModel product = mock(ProductModel.class);
+            final PK pk = PK.fromLong(i);
+            when(product.getPk()).thenReturn(pk);
+            when(product.getCode()).thenReturn("p" + i);
+            when(modelService.get(pk)).thenReturn(product);
+            products.add(product);
+        }
+        return products;
+    }
+
+    private static void awaitFinished(final BulkTranslationProgress progress) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (progress.getStatus() == BulkTranslationProgress.Status.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertTrue("Task did not finish", progress.getStatus() != BulkTranslationProgress.Status.RUNNING);
+    }
+
+    /**
+     * A cancelled task leaves the running state at once; its job ends after the running chunk returned.
+     */
+    private void awaitJobFinished(final BulkTranslationProgress progress) {
+        verify(tokenBudgetService, timeout(TIMEOUT_MS)).finishJob("bulk:" + progress.getTaskId());
+    }
+}
@@ -0,0 +1,129 @@
+package com.translations.ai.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import de.hybris.platform.servicelayer.model.ModelService;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import com.translations.ai.dto.bulk.ProductTranslationDelta;
+import com.translations.ai.dto.options.PromptOptions;
+import com.translations.ai.dto.response.Translation;
+import com.translations.ai.service.TranslationStateService;
+import com.translations.ai.service.TranslationWriter;
+import com.translations.ai.service.TranslationsAiService;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Applying the translations of several localized attributes per qualifier and language.
+ */
+@UnitTest
+public class DefaultProductTranslationServiceTest {
+
+    private final TranslationsAiService translationsAiService = mock(TranslationsAiService.class);
+    private final TranslationStateService translationStateService = mock(TranslationStateService.class);
+    private final TranslationWriter translationWriter = mock(TranslationWriter.class);
+    private final ModelService modelService = mock(ModelService.class);
+    private final ProductModel product = mock(ProductModel.class);
+    private final ProductTranslationDelta delta = new ProductTranslationDelta(product, Arrays.asList("de", "fr"));
+    private final DefaultProductTranslationService service = new DefaultProductTranslationService();
+
+    @Before
+    public void setUp() {
+        final ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.getConfiguration()).thenReturn(new BaseConfiguration());
+        service.setConfigurationService(configurationService);
+        service.setTranslationsAiService(translationsAiService);
+        service.setTranslationStateService(translationStateService);
+        service.setTranslationWriter(translationWriter);
+        service.setModelService(modelService);
+
+        when(translationsAiService.getAttributes()).thenReturn(Arrays.asList(ProductModel.NAME, ProductModel.DESCRIPTION));
+        when(translationStateService.getSourceHash(product, Locale.ENGLISH)).thenReturn("hash");
+        when(translationsAiService.translateAttributes(eq(product), eq(Locale.ENGLISH), any(PromptOptions.class)))
+                .thenReturn(attributeTranslations());
+        when(product.getCode()).thenReturn("cleanser");
+    }
+
+    @Test
+    public void setsEveryAttributeInEveryRequestedLanguage() {
+        final Collection<String> applied = service.translate(delta, Locale.ENGLISH);
+
+        assertEquals(Arrays.asList("de", "fr"), applied.stream().collect(Collectors.toList()));
+        verify(modelService).setAttributeValue(product, ProductModel.NAME, Collections.singletonMap(Locale.GERMAN, "Reiniger"));
+        verify(modelService).setAttributeValue(product, ProductModel.NAME, Collections.singletonMap(Locale.FRENCH, "Nettoyant"));
+        verify(modelService).setAttributeValue(product, ProductModel.DESCRIPTION,
+                Collections.singletonMap(Locale.GERMAN, "Sanfter Reiniger"));
+        verify(modelService, never()).setAttributeValue(eq(product), eq(ProductModel.NAME),
+                eq(Collections.singletonMap(Locale.ITALIAN, "Detergente")));
+        verify(modelService).save(product);
+        verify(translationStateService).markTranslated(eq(product), eq(Locale.ENGLISH), eq(applied), eq("hash"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void writesTheRequestedTranslationsPerAttribute() {
+        when(translationWriter.write(eq(product), eq(Locale.ENGLISH), eq("hash"), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(Boolean.TRUE));
+
+        final List<ProductTranslationDelta> failed = service.translateAll(Collections.singletonList(delta), Locale.ENGLISH);
+
+        assertTrue(failed.isEmpty());
+        final ArgumentCaptor<Map<String, List<Translation>>> written = ArgumentCaptor.forClass(Map.class);
+        verify(translationWriter).write(eq(product), eq(Locale.ENGLISH), eq("hash"), written.capture());
+        verify(translationWriter).flush();
+        assertEquals(Arrays.asList(ProductModel.NAME, ProductModel.DESCRIPTION), written.getValue().keySet().stream()
+                .collect(Collectors.toList()));
+        assertEquals(Arrays.asList("de:Reiniger", "fr:Nettoyant"), format(written.getValue().get(ProductModel.NAME)));
+        assertEquals(Collections.singletonList("de:Sanfter Reiniger"), format(written.getValue().get(ProductModel.DESCRIPTION)));
+    }
+
+    @Test
+    public void failsAProductWhoseSaveFailed() {
+        when(translationWriter.write(eq(product), eq(Locale.ENGLISH), eq("hash"), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(Boolean.FALSE));
+
+        final List<ProductTranslationDelta> failed = service.translateAll(Collections.singletonList(delta), Locale.ENGLISH);
+
+        assertEquals(Collections.singletonList(delta), failed);
+    }
+
+    /**
+     * Translations of the name and description; the summary has no translation in a requested language.
+     */
+    private static Map<String, List<Translation>> attributeTranslations() {
+        final Map<String, List<Translation>> translations = new LinkedHashMap<>();
+        translations.put(ProductModel.NAME, Arrays.asList(new Translation("de", "Reiniger"), new Translation("fr", "Nettoyant"),
+                new Translation("it", "Detergente")));
+        translations.put(ProductModel.SUMMARY, Collections.singletonList(new Translation("it", "Delicato")));
+        translations.put(ProductModel.DESCRIPTION, Collections.singletonList(new Translation("de", "Sanfter Reiniger")));
+        return translations;
+    }
+
+    private static List<String> format(final List<Translation> translations) {
+        return translations.stream()
+                .map(translation -> translation.getLang() + ":" + translation.getDescription())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,85 @@
+package com.translations.ai.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import com.translations.ai.dto.request.TokenEstimate;
+import com.translations.ai.exception.TokenBudgetExceededException;
+
+@UnitTest
+public class DefaultTokenBudgetServiceTest {
+
+    private static final String JOB = "bulk:1";
+
+    private final BaseConfiguration configuration = new BaseConfiguration();
+    private final DefaultTokenBudgetService service = new DefaultTokenBudgetService();
+
+    @Before
+    public void setUp() {
+        final ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.getConfiguration()).thenReturn(configuration);
+        service.setConfigurationService(configurationService);
+        service.startJob(JOB);
+    }
+
+    @Test
+    public void chargesTheReportedUsageInsteadOfTheEstimate() {
+        final TokenEstimate estimate = new TokenEstimate(400L, 200L);
+
+        service.reserve(estimate, JOB);
+        assertEquals(600L, service.getJobTokens(JOB));
+
+        service.settle(estimate, new TokenEstimate(350L, 100L), JOB);
+        assertEquals(450L, service.getJobTokens(JOB));
+        assertEquals(450L, service.getDailyTokens());
+    }
+
+    @Test
+    public void refundsAFailedRequest() {
+        final TokenEstimate estimate = new TokenEstimate(400L, 200L);
+
+        service.reserve(estimate, JOB);
+        service.settle(estimate, null, JOB);
+
+        assertEquals(0L, service.getJobTokens(JOB));
+        assertEquals(0L, service.getDailyTokens());
+    }
+
+    @Test
+    public void admitsRequestsAgainAfterARefund() {
+        configuration.setProperty("translationsai.budget.job.maxTokens", "1000");
+        final TokenEstimate estimate = new TokenEstimate(400L, 200L);
+        service.reserve(estimate, JOB);
+        service.settle(estimate, null, JOB);
+
+        service.reserve(estimate, JOB);
+
+        assertEquals(600L, service.getJobTokens(JOB));
+        assertFalse(service.isExhausted(JOB));
+    }
+
+    @Test
+    public void rejectsRequestsOnceTheUsageExceedsTheEstimates() {
+        configuration.setProperty("translationsai.budget.job.maxTokens", "1000");
+        final TokenEstimate estimate = new TokenEstimate(400L, 200L);
+        service.reserve(estimate, JOB);
+        service.settle(estimate, new TokenEstimate(400L, 500L), JOB);
+
+        try {
+            service.reserve(estimate, JOB);
+            fail("Expected the job budget to be used up");
+        } catch (final TokenBudgetExceededException e) {
+            assertTrue(e.isUsedUp());
+        }
+        assertTrue(service.isExhausted(JOB));
+    }
+}
@@ -0,0 +1,259 @@
+package com.translations.ai.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import de.hybris.platform.servicelayer.model.ModelService;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import com.translations.ai.dao.TranslationQueueDao;
+import com.translations.ai.dto.bulk.ProductTranslationDelta;
+import com.translations.ai.service.ProductTranslationService;
+import com.translations.ai.service.TranslationStateService;
+import com.translations.enums.TranslationQueueStatus;
+import com.translations.model.TranslationQueueEntryModel;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Debouncing of queued products and ownership of claimed entries. The DAO fails the claim of entries another node
+ * claimed between the read and the conditional update.
+ */
+@UnitTest
+public class DefaultTranslationQueueServiceTest {
+
+    private static final long DEBOUNCE = 60_000L;
+    private static final long MAX_DELAY = 600_000L;
+    private static final List<String> LANGUAGES = Collections.singletonList("de");
+
+    private final BaseConfiguration configuration = new BaseConfiguration();
+    private final TranslationQueueDao translationQueueDao = mock(TranslationQueueDao.class);
+    private final TranslationStateService translationStateService = mock(TranslationStateService.class);
+    private final ProductTranslationService productTranslationService = mock(ProductTranslationService.class);
+    private final ModelService modelService = mock(ModelService.class);
+    private final ProductModel product = mock(ProductModel.class);
+    private final Set<TranslationQueueEntryModel> claimedElsewhere = new HashSet<>();
+    private final DefaultTranslationQueueService service = new DefaultTranslationQueueService();
+
+    @Before
+    public void setUp() {
+        configuration.setProperty("translationsai.queue.debounce.ms", String.valueOf(DEBOUNCE));
+        configuration.setProperty("translationsai.queue.maxDelay.ms", String.valueOf(MAX_DELAY));
+        final ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.getConfiguration()).thenReturn(configuration);
+        service.setConfigurationService(configurationService);
+        service.setTranslationQueueDao(translationQueueDao);
+        service.setTranslationStateService(translationStateService);
+        service.setProductTranslationService(productTranslationService);
+        service.setModelService(modelService);
+
+        when(modelService.create(TranslationQueueEntryModel.class)).thenAnswer(invocation -> new TranslationQueueEntryModel());
+        when(translationQueueDao.claimIfUnchanged(any(TranslationQueueEntryModel.class), anyString(), any(Date.class)))
+                .thenAnswer(invocation -> {
+                    final TranslationQueueEntryModel entry = invocation.getArgument(0);
+                    if (claimedElsewhere.contains(entry)) {
+                        return Boolean.FALSE;
+                    }
+                    entry.setStatus(TranslationQueueStatus.PROCESSING);
+                    entry.setClaimToken(invocation.getArgument(1));
+                    entry.setClaimedAt(invocation.getArgument(2));
+                    return Boolean.TRUE;
+                });
+        when(productTranslationService.getDefaultTargetLanguages(Locale.ENGLISH)).thenReturn(LANGUAGES);
+        when(translationStateService.getStaleLanguages(product, Locale.ENGLISH, LANGUAGES)).thenReturn(LANGUAGES);
+        when(product.getCode()).thenReturn("cleanser");
+    }
+
+    @Test
+    public void debouncesANewEntry() {
+        final long before = System.currentTimeMillis();
+        final TranslationQueueEntryModel entry = service.enqueue(product, Locale.ENGLISH);
+        final long after = System.currentTimeMillis();
+
+        assertEquals(TranslationQueueStatus.PENDING, entry.getStatus());
+        assertEquals("en", entry.getSourceLanguage());
+        assertBetween(before + DEBOUNCE, after + DEBOUNCE, entry.getNotBefore().getTime());
+    }
+
+    @Test
+    public void postponesAPendingEntryOnEverySave() {
+        final TranslationQueueEntryModel entry = pending(System.currentTimeMillis() - 5_000L);
+        when(translationQueueDao.findEntry(product)).thenReturn(entry);
+
+        final long before = System.currentTimeMillis();
+        service.enqueue(product, Locale.ENGLISH);
+        final long after = System.currentTimeMillis();
+
+        assertBetween(before + DEBOUNCE, after + DEBOUNCE, entry.getNotBefore().getTime());
+    }
+
+    @Test
+    public void doesNotPostponeAnEntryBeyondTheMaximumDelay() {
+        final long enqueuedAt = System.currentTimeMillis() - MAX_DELAY + 10_000L;
+        final TranslationQueueEntryModel entry = pending(enqueuedAt);
+        when(translationQueueDao.findEntry(product)).thenReturn(entry);
+
+        service.enqueue(product, Locale.ENGLISH);
+
+        assertEquals(enqueuedAt + MAX_DELAY, entry.getNotBefore().getTime());
+        assertEquals(enqueuedAt, entry.getEnqueuedAt().getTime());
+    }
+
+    @Test
+    public void restartsTheDelayOfAnEntryInFlight() {
+        final TranslationQueueEntryModel entry = pending(System.currentTimeMillis() - 2 * MAX_DELAY);
+        entry.setStatus(TranslationQueueStatus.PROCESSING);
+        entry.setClaimToken("token");
+        entry.setAttempts(Integer.valueOf(2));
+        when(translationQueueDao.findEntry(product)).thenReturn(entry);
+
+        final long before = System.currentTimeMillis();
+        service.enqueue(product, Locale.ENGLISH);
+
+        assertEquals(TranslationQueueStatus.PENDING, entry.getStatus());
+        assertEquals(Integer.valueOf(0), entry.getAttempts());
+        assertTrue(entry.getEnqueuedAt().getTime() >= before);
+        assertTrue(entry.getNotBefore().getTime() >= before + DEBOUNCE);
+    }
+
+    @Test
+    public void returnsOnlyTheEntriesThisNodeClaimed() {
+        final TranslationQueueEntryModel free = pending(0L);
+        final TranslationQueueEntryModel taken = pending(0L);
+        claimedElsewhere.add(taken);
+        when(translationQueueDao.findDueEntries(any(Date.class), any(Date.class), anyInt())).thenReturn(Arrays.asList(free, taken));
+
+        final List<TranslationQueueEntryModel> claimed = service.claimDueEntries(10);
+
+        assertEquals(Collections.singletonList(free), claimed);
+        assertNotNull(free.getClaimToken());
+        verify(modelService).refresh(free);
+        verify(modelService, never()).refresh(taken);
+    }
+
+    @Test
+    public void removesTheEntryOfATranslatedProduct() {
+        final TranslationQueueEntryModel entry = claim();
+
+        service.process(entry);
+
+        verify(productTranslationService).translate(any(ProductTranslationDelta.class), any(Locale.class));
+        verify(modelService).remove(entry);
+    }
+
+    @Test
+    public void keepsAnEntryQueuedAgainWhileTranslating() {
+        final TranslationQueueEntryModel entry = claim();
+        doAnswer(invocation -> service.enqueue(product, Locale.ENGLISH))
+                .when(productTranslationService).translate(any(ProductTranslationDelta.class), any(Locale.class));
+        when(translationQueueDao.findEntry(product)).thenReturn(entry);
+
+        service.process(entry);
+
+        verify(modelService, never()).remove(entry);
+        assertEquals(TranslationQueueStatus.PENDING, entry.getStatus());
+    }
+
+    @Test
+    public void keepsAnEntryClaimedByAnotherNode() {
+        final TranslationQueueEntryModel entry = claim();
+        doAnswer(invocation -> {
+            // the claim expired and another node took the entry over
+            entry.setClaimToken("other");
+            return null;
+        }).when(productTranslationService).translate(any(ProductTranslationDelta.class), any(Locale.class));
+
+        service.process(entry);
+
+        verify(modelService, never()).remove(entry);
+    }
+
+    @Test
+    public void reschedulesAFailedEntry() {
+        final TranslationQueueEntryModel entry = claim();
+        doThrow(new IllegalStateException("timeout"))
+                .when(productTranslationService).translate(any(ProductTranslationDelta.class), any(Locale.class));
+
+        final long before = System.currentTimeMillis();
+        service.process(entry);
+
+        assertEquals(TranslationQueueStatus.PENDING, entry.getStatus());
+        assertEquals(Integer.valueOf(1), entry.getAttempts());
+        assertEquals("timeout", entry.getLastError());
+        assertNull(entry.getClaimedAt());
+        assertTrue(entry.getNotBefore().getTime() >= before + DEBOUNCE);
+        verify(modelService).save(entry);
+    }
+
+    @Test
+    public void failsAnEntryAfterTheConfiguredAttempts() {
+        configuration.setProperty("translationsai.queue.maxAttempts", "2");
+        final TranslationQueueEntryModel entry = claim();
+        entry.setAttempts(Integer.valueOf(1));
+        doThrow(new IllegalStateException("timeout"))
+                .when(productTranslationService).translate(any(ProductTranslationDelta.class), any(Locale.class));
+
+        service.process(entry);
+
+        assertEquals(TranslationQueueStatus.FAILED, entry.getStatus());
+        verify(modelService).save(entry);
+    }
+
+    @Test
+    public void doesNotRescheduleAnEntryClaimedByAnotherNode() {
+        final TranslationQueueEntryModel entry = claim();
+        doAnswer(invocation -> {
+            entry.setClaimToken("other");
+            throw new IllegalStateException("timeout");
+        }).when(productTranslationService).translate(any(ProductTranslationDelta.class), any(Locale.class));
+
+        service.process(entry);
+
+        assertEquals(TranslationQueueStatus.PROCESSING, entry.getStatus());
+        assertNull(entry.getAttempts());
+        verify(modelService, never()).save(entry);
+    }
+
+    private TranslationQueueEntryModel pending(final long enqueuedAt) {
+        final TranslationQueueEntryModel entry = new TranslationQueueEntryModel();
+        entry.setProduct(product);
+        entry.setSourceLanguage("en");
+        entry.setStatus(TranslationQueueStatus.PENDING);
+        entry.setEnqueuedAt(new Date(enqueuedAt));
+        entry.setNotBefore(new Date(enqueuedAt + DEBOUNCE));
+        return entry;
+    }
+
+    private TranslationQueueEntryModel claim() {
+        final TranslationQueueEntryModel entry = pending(System.currentTimeMillis() - DEBOUNCE);
+        when(translationQueueDao.findDueEntries(any(Date.class), any(Date.class), anyInt()))
+                .thenReturn(Collections.singletonList(entry));
+        assertEquals(Collections.singletonList(entry), service.claimDueEntries(1));
+        return entry;
+    }
+
+    private static void assertBetween(final long min, final long max, final long actual) {
+        assertTrue(actual + " not in [" + min + ", " + max + "]", actual >= min && actual <= max);
+    }
+}
@@ -0,0 +1,130 @@
+package com.translations.ai.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.catalog.model.CatalogVersionModel;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.model.ModelService;
+import org.junit.Before;
+import org.junit.Test;
+import com.translations.ai.dao.TranslationStateDao;
+import com.translations.ai.dto.bulk.ProductTranslationDelta;
+import com.translations.ai.service.TranslationsAiService;
+import com.translations.ai.util.SourceHashUtils;
+import com.translations.model.ProductTranslationStateModel;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Change detection: candidates returned by the DAO are compared by source hash, and translations that are still
+ * current are confirmed so the product is not returned again.
+ */
+@UnitTest
+public class DefaultTranslationStateServiceTest {
+
+    private static final List<String> LANGUAGES = Arrays.asList("de", "fr");
+    private static final Date TRANSLATED = new Date(1_000L);
+    private static final Date MODIFIED = new Date(2_000L);
+
+    private final TranslationStateDao translationStateDao = mock(TranslationStateDao.class);
+    private final ModelService modelService = mock(ModelService.class);
+    private final TranslationsAiService translationsAiService = mock(TranslationsAiService.class);
+    private final CatalogVersionModel catalogVersion = mock(CatalogVersionModel.class);
+    private final DefaultTranslationStateService service = new DefaultTranslationStateService();
+
+    private ProductModel product;
+
+    @Before
+    public void setUp() {
+        service.setTranslationStateDao(translationStateDao);
+        service.setModelService(modelService);
+        service.setTranslationsAiService(translationsAiService);
+        when(translationsAiService.getAttributes()).thenReturn(Collections.singletonList(ProductModel.DESCRIPTION));
+
+        product = mock(ProductModel.class);
+        when(product.getModifiedtime()).thenReturn(MODIFIED);
+        when(modelService.getAttributeValue(product, ProductModel.DESCRIPTION, Locale.ENGLISH)).thenReturn("Cleanser");
+        when(translationStateDao.findTranslationCandidates(catalogVersion, LANGUAGES))
+                .thenReturn(Collections.singletonList(product));
+    }
+
+    @Test
+    public void confirmsTranslationsWhoseSourceDidNotChange() {
+        final ProductTranslationStateModel german = state("de", SourceHashUtils.hash("Cleanser"));
+        final ProductTranslationStateModel french = state("fr", SourceHashUtils.hash("Cleanser"));
+        when(translationStateDao.findStates(product, LANGUAGES)).thenReturn(Arrays.asList(german, french));
+
+        final List<ProductTranslationDelta> deltas = service.findChangedProducts(catalogVersion, Locale.ENGLISH, LANGUAGES);
+
+        assertTrue(deltas.isEmpty());
+        verify(german).setTranslatedAt(MODIFIED);
+        verify(french).setTranslatedAt(MODIFIED);
+        verify(modelService).saveAll(Arrays.asList(german, french));
+    }
+
+    @Test
+    public void returnsOnlyTheStaleLanguages() {
+        final ProductTranslationStateModel german = state("de", SourceHashUtils.hash("Old cleanser"));
+        final ProductTranslationStateModel french = state("fr", SourceHashUtils.hash("Cleanser"));
+        when(translationStateDao.findStates(product, LANGUAGES)).thenReturn(Arrays.asList(german, french));
+
+        final List<ProductTranslationDelta> deltas = service.findChangedProducts(catalogVersion, Locale.ENGLISH, LANGUAGES);
+
+        assertEquals(1, deltas.size());
+        assertEquals(Collections.singletonList("de"), deltas.get(0).getTargetLanguages());
+        verify(german, never()).setTranslatedAt(any(Date.class));
+        verify(french).setTranslatedAt(MODIFIED);
+        verify(modelService).saveAll(Collections.singletonList(french));
+    }
+
+    @Test
+    public void returnsMissingLanguages() {
+        when(translationStateDao.findStates(product, LANGUAGES)).thenReturn(Collections.emptyList());
+
+        final List<ProductTranslationDelta> deltas = service.findChangedProducts(catalogVersion, Locale.ENGLISH, LANGUAGES);
+
+        assertEquals(LANGUAGES, deltas.get(0).getTargetLanguages());
+        verify(modelService, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    public void keepsTranslationsConfirmedAfterTheModification() {
+        final ProductTranslationStateModel german = state("de", SourceHashUtils.hash("Cleanser"));
+        when(german.getTranslatedAt()).thenReturn(new Date(MODIFIED.getTime() + 1_000L));
+        when(translationStateDao.findStates(product, LANGUAGES)).thenReturn(Collections.singletonList(german));
+
+        service.findChangedProducts(catalogVersion, Locale.ENGLISH, LANGUAGES);
+
+        verify(german, never()).setTranslatedAt(any(Date.class));
+        verify(modelService, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    public void skipsProductsWithoutSource() {
+        when(modelService.getAttributeValue(product, ProductModel.DESCRIPTION, Locale.ENGLISH)).thenReturn(" ");
+
+        assertTrue(service.findChangedProducts(catalogVersion, Locale.ENGLISH, LANGUAGES).isEmpty());
+        verify(translationStateDao, never()).findStates(eq(product), anyCollection());
+    }
+
+    private static ProductTranslationStateModel state(final String language, final String sourceHash) {
+        final ProductTranslationStateModel state = mock(ProductTranslationStateModel.class);
+        when(state.getTargetLanguage()).thenReturn(language);
+        when(state.getSourceHash()).thenReturn(sourceHash);
+        when(state.getTranslatedAt()).thenReturn(TRANSLATED);
+        return state;
+    }
+}
@@ -0,0 +1,208 @@
+package com.translations.ai.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.core.PK;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import de.hybris.platform.servicelayer.exceptions.ModelSavingException;
+import de.hybris.platform.servicelayer.model.ModelService;
+import de.hybris.platform.tx.TransactionBody;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import com.translations.ai.dto.response.Translation;
+import com.translations.ai.service.TranslationStateService;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Batched saving of translations. The model service keeps loaded models and their unsaved values like a session
+ * does, and rejects saves that contain an invalid product as a whole.
+ */
+@UnitTest
+public class DefaultTranslationWriterTest {
+
+    private static final PK FIRST = PK.fromLong(1L);
+    private static final PK INVALID = PK.fromLong(2L);
+    private static final PK THIRD = PK.fromLong(3L);
+
+    private final Map<PK, Map<String, Object>> persisted = new HashMap<>();
+    private final Map<PK, ProductModel> loaded = new HashMap<>();
+    private final Map<ProductModel, PK> pks = new IdentityHashMap<>();
+    private final Map<ProductModel, Map<String, Object>> unsaved = new HashMap<>();
+    private final Set<PK> invalid = new HashSet<>();
+
+    private final ModelService modelService = mock(ModelService.class);
+    private final TranslationStateService translationStateService = mock(TranslationStateService.class);
+    private final DefaultTranslationWriter writer = new DefaultTranslationWriter() {
+        @Override
+        protected Object execute(final TransactionBody body) throws Exception {
+            return body.execute();
+        }
+    };
+
+    @Before
+    public void setUp() {
+        final ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.getConfiguration()).thenReturn(new BaseConfiguration());
+        writer.setConfigurationService(configurationService);
+        writer.setModelService(modelService);
+        writer.setTranslationStateService(translationStateService);
+
+        when(modelService.<ProductModel>get(any(PK.class))).thenAnswer(invocation -> load(invocation.getArgument(0)));
+        when(modelService.getAttributeValue(any(), anyString(), any(Locale.class))).thenAnswer(invocation -> {
+            final ProductModel product = invocation.getArgument(0);
+            final String key = key(invocation.getArgument(1), invocation.getArgument(2));
+            final Map<String, Object> values = unsaved.get(product);
+            return values.containsKey(key) ? values.get(key) : persisted.get(pks.get(product)).get(key);
+        });
+        doAnswer(invocation -> {
+            final Map<Locale, ?> values = invocation.getArgument(2);
+            values.forEach((locale, value) -> unsaved.get(invocation.<ProductModel>getArgument(0))
+                    .put(key(invocation.getArgument(1), locale), value));
+            return null;
+        }).when(modelService).setAttributeValue(any(), anyString(), anyMap());
+        doAnswer(invocation -> {
+            final Collection<ProductModel> products = invocation.getArgument(0);
+            if (products.stream().anyMatch(product -> invalid.contains(pks.get(product)))) {
+                throw new ModelSavingException("Invalid product");
+            }
+            products.forEach(product -> {
+                persisted.get(pks.get(product)).putAll(unsaved.get(product));
+                unsaved.get(product).clear();
+            });
+            return null;
+        }).when(modelService).saveAll(anyCollection());
+        doAnswer(invocation -> {
+            final ProductModel product = invocation.getArgument(0);
+            loaded.remove(pks.get(product));
+            unsaved.remove(product);
+            return null;
+        }).when(modelService).detach(any());
+
+        Arrays.asList(FIRST, INVALID, THIRD).forEach(pk -> persisted.put(pk, new HashMap<>()));
+    }
+
+    @Test
+    public void writesTheOtherProductsOfAFailedBatch() {
+        invalid.add(INVALID);
+
+        final CompletableFuture<Boolean> first = write(FIRST, "Reiniger");
+        final CompletableFuture<Boolean> second = write(INVALID, "Toner");
+        final CompletableFuture<Boolean> third = write(THIRD, "Serum");
+        writer.flush();
+
+        assertTrue(first.join());
+        assertFalse(second.join());
+        assertTrue(third.join());
+        assertEquals("Reiniger", persisted.get(FIRST).get(key(ProductModel.DESCRIPTION, Locale.GERMAN)));
+        assertNull(persisted.get(INVALID).get(key(ProductModel.DESCRIPTION, Locale.GERMAN)));
+        assertEquals("Serum", persisted.get(THIRD).get(key(ProductModel.DESCRIPTION, Locale.GERMAN)));
+        assertEquals(2L, writer.getWrittenCount());
+        assertEquals(0L, writer.getSkippedCount());
+        assertEquals(1L, writer.getFailedCount());
+        verify(translationStateService, times(2)).markTranslated(any(ProductModel.class), eq(Locale.ENGLISH),
+                eq(Collections.singletonList("de")), eq("hash"));
+        verify(translationStateService, never()).markTranslated(argThat(product -> INVALID.equals(pks.get(product))),
+                any(Locale.class), anyCollection(), anyString());
+    }
+
+    @Test
+    public void writesAFailedProductOnceItIsValid() {
+        invalid.add(INVALID);
+        write(INVALID, "Toner");
+        writer.flush();
+
+        invalid.clear();
+        final CompletableFuture<Boolean> retried = write(INVALID, "Toner");
+        writer.flush();
+
+        assertTrue(retried.join());
+        assertEquals("Toner", persisted.get(INVALID).get(key(ProductModel.DESCRIPTION, Locale.GERMAN)));
+        assertEquals(1L, writer.getWrittenCount());
+    }
+
+    @Test
+    public void recordsUnchangedTranslationsWithoutSaving() {
+        persisted.get(FIRST).put(key(ProductModel.DESCRIPTION, Locale.GERMAN), "Reiniger");
+
+        final CompletableFuture<Boolean> saved = write(FIRST, "Reiniger");
+        writer.flush();
+
+        assertTrue(saved.join());
+        assertEquals(0L, writer.getWrittenCount());
+        assertEquals(1L, writer.getSkippedCount());
+        verify(translationStateService).markTranslated(any(ProductModel.class), eq(Locale.ENGLISH),
+                eq(Collections.singletonList("de")), eq("hash"));
+    }
+
+    @Test
+    public void writesEveryAttributeAndLanguage() {
+        final Map<String, List<Translation>> translations = new HashMap<>();
+        translations.put(ProductModel.DESCRIPTION, Arrays.asList(new Translation("de", "Reiniger"), new Translation("fr", "Nettoyant")));
+        translations.put(ProductModel.SUMMARY, Collections.singletonList(new Translation("de", "Sanft")));
+
+        writer.write(product(FIRST), Locale.ENGLISH, "hash", translations);
+        writer.flush();
+
+        assertEquals("Reiniger", persisted.get(FIRST).get(key(ProductModel.DESCRIPTION, Locale.GERMAN)));
+        assertEquals("Nettoyant", persisted.get(FIRST).get(key(ProductModel.DESCRIPTION, Locale.FRENCH)));
+        assertEquals("Sanft", persisted.get(FIRST).get(key(ProductModel.SUMMARY, Locale.GERMAN)));
+        verify(translationStateService).markTranslated(any(ProductModel.class), eq(Locale.ENGLISH),
+                eq(Arrays.asList("de", "fr")), eq("hash"));
+    }
+
+    private CompletableFuture<Boolean> write(final PK pk, final String description) {
+        return writer.write(product(pk), Locale.ENGLISH, "hash",
+                Collections.singletonMap(ProductModel.DESCRIPTION, Collections.singletonList(new Translation("de", description))));
+    }
+
+    /**
+     * The model of a product as loaded into the session; the same instance is returned until it is detached.
+     */
+    private ProductModel load(final PK pk) {
+        return loaded.computeIfAbsent(pk, key -> {
+            final ProductModel product = mock(ProductModel.class);
+            pks.put(product, key);
+            unsaved.put(product, new HashMap<>());
+            return product;
+        });
+    }
+
+    private static ProductModel product(final PK pk) {
+        final ProductModel product = mock(ProductModel.class);
+        when(product.getPk()).thenReturn(pk);
+        return product;
+    }
+
+    private static String key(final String qualifier, final Locale locale) {
+        return qualifier + "|" + locale.toLanguageTag();
+    }
+}
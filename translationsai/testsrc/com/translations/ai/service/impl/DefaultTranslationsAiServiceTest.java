@@ -0,0 +1,336 @@
+package com.translations.ai.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import de.hybris.platform.servicelayer.model.ModelService;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import com.translations.ai.client.AiClient;
+import com.translations.ai.dto.options.AiClientOptions;
+import com.translations.ai.dto.options.PromptOptions;
+import com.translations.ai.dto.request.Prompt;
+import com.translations.ai.dto.response.AttributeTranslationsResponse;
+import com.translations.ai.dto.response.ProductTranslationsResponse;
+import com.translations.ai.dto.response.Translation;
+import com.translations.ai.exception.AiClientException;
+import com.translations.ai.exception.TokenBudgetExceededException;
+import com.translations.ai.util.TokenEstimator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Packing of products into requests, mapping of multi-attribute responses, validation of AI responses against the
+ * requested languages and recovery of the missing ones.
+ */
+@UnitTest
+public class DefaultTranslationsAiServiceTest {
+
+    private final BaseConfiguration configuration = new BaseConfiguration();
+    private final AiClient aiClient = mock(AiClient.class);
+    private final ModelService modelService = mock(ModelService.class);
+    private final DefaultTranslationsAiService service = new DefaultTranslationsAiService();
+
+    private PromptOptions options;
+
+    @Before
+    public void setUp() {
+        configuration.setProperty("translationsai.enabled", "true");
+        final ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.getConfiguration()).thenReturn(configuration);
+        service.setConfigurationService(configurationService);
+        service.setAiClient(aiClient);
+        service.setModelService(modelService);
+
+        options = new PromptOptions();
+        options.setSourceLanguage("en");
+        options.setTargetLanguages(Arrays.asList("de", "fr"));
+    }
+
+    @Test
+    public void dropsEmptyDuplicateAndUnrequestedTranslations() {
+        configuration.setProperty("translationsai.recovery.maxAttempts", "0");
+        when(aiClient.translate(any(Prompt.class), any(AiClientOptions.class))).thenReturn(translations(
+                "de", "Reiniger", "de", "Zweiter Reiniger", "fr", " ", "it", "Detergente"));
+
+        final List<Translation> result = service.translateDescription(product("Cleanser"), Locale.ENGLISH, options);
+
+        assertEquals(Collections.singletonList("de:Reiniger"), format(result));
+        verify(aiClient, times(1)).translate(any(Prompt.class), any(AiClientOptions.class));
+    }
+
+    @Test
+    public void requestsOnlyTheMissingLanguagesAgain() {
+        when(aiClient.translate(any(Prompt.class), any(AiClientOptions.class)))
+                .thenReturn(translations("DE", "Reiniger", "fr", ""))
+                .thenReturn(translations("fr", "Nettoyant", "de", "Anderer Reiniger"));
+
+        final List<Translation> result = service.translateDescription(product("Cleanser"), Locale.ENGLISH, options);
+
+        assertEquals(Arrays.asList("de:Reiniger", "fr:Nettoyant"), format(result));
+        final ArgumentCaptor<Prompt> prompts = ArgumentCaptor.forClass(Prompt.class);
+        verify(aiClient, times(2)).translate(prompts.capture(), any(AiClientOptions.class));
+        assertTrue(prompts.getAllValues().get(1).getUser().contains("Requested output languages (IETF tags): fr."));
+    }
+
+    @Test
+    public void reportsLanguagesAsRequested() {
+        options.setTargetLanguages(Arrays.asList("pt-BR", "de"));
+        when(aiClient.translate(any(Prompt.class), any(AiClientOptions.class)))
+                .thenReturn(translations("pt-br", "Limpador", "DE", "Reiniger"));
+
+        final List<Translation> result = service.translateDescription(product("Cleanser"), Locale.ENGLISH, options);
+
+        assertEquals(Arrays.asList("pt-BR:Limpador", "de:Reiniger"), format(result));
+    }
+
+    @Test
+    public void keepsValidTranslationsWhenTheFollowUpFails() {
+        when(aiClient.translate(any(Prompt.class), any(AiClientOptions.class)))
+                .thenReturn(translations("de", "Reiniger"))
+                .thenThrow(new AiClientException("timeout"));
+
+        final List<Translation> result = service.translateDescription(product("Cleanser"), Locale.ENGLISH, options);
+
+        assertEquals(Collections.singletonList("de:Reiniger"), format(result));
+    }
+
+    @Test
+    public void stopsRecoveryWhenTheBudgetIsUsedUp() {
+        when(aiClient.translate(any(Prompt.class), any(AiClientOptions.class)))
+                .thenReturn(translations("de", "Reiniger"))
+                .thenThrow(new TokenBudgetExceededException("Daily token budget (1000) is used up", true));
+
+        try {
+            service.translateDescription(product("Cleanser"), Locale.ENGLISH, options);
+            fail("Expected the used-up budget to stop the translation");
+        } catch (final TokenBudgetExceededException e) {
+            assertTrue(e.isUsedUp());
+        }
+    }
+
+    @Test
+    public void keepsValidTranslationsWhenAFollowUpIsTooLarge() {
+        when(aiClient.translate(any(Prompt.class), any(AiClientOptions.class)))
+                .thenReturn(translations("de", "Reiniger"))
+                .thenThrow(new TokenBudgetExceededException("Estimated 900 tokens exceed the request budget of 800"));
+
+        final List<Translation> result = service.translateDescription(product("Cleanser"), Locale.ENGLISH, options);
+
+        assertEquals(Collections.singletonList("de:Reiniger"), format(result));
+    }
+
+    @Test
+    public void stopsTheUnmaskedRequestWhenTheBudgetIsUsedUp() {
+        when(aiClient.translate(any(Prompt.class), any(AiClientOptions.class)))
+                .thenReturn(translations("de", "{{1}}Reiniger{{2}}", "fr", "Nettoyant"))
+                .thenThrow(new TokenBudgetExceededException("Daily token budget (1000) is used up", true));
+
+        try {
+            service.translateDescription(product("<b>Cleanser</b>"), Locale.ENGLISH, options);
+            fail("Expected the used-up budget to stop the translation");
+        } catch (final TokenBudgetExceededException e) {
+            assertTrue(e.isUsedUp());
+        }
+        final ArgumentCaptor<Prompt> prompts = ArgumentCaptor.forClass(Prompt.class);
+        verify(aiClient, times(2)).translate(prompts.capture(), any(AiClientOptions.class));
+        assertTrue(prompts.getAllValues().get(1).getUser().endsWith("<b>Cleanser</b>"));
+    }
+
+    @Test
+    public void stopsAfterTheConfiguredAttempts() {
+        configuration.setProperty("translationsai.recovery.maxAttempts", "2");
+        when(aiClient.translate(any(Prompt.class), any(AiClientOptions.class))).thenReturn(translations("de", "Reiniger"));
+
+        final List<Translation> result = service.translateDescription(product("Cleanser"), Locale.ENGLISH, options);
+
+        assertEquals(Collections.singletonList("de:Reiniger"), format(result));
+        verify(aiClient, times(3)).translate(any(Prompt.class), any(AiClientOptions.class));
+    }
+
+    @Test
+    public void recoversProductsLeftOutOfAPackedResponse() {
+        final ProductModel first = product("Cleanser");
+        final ProductModel second = product("Toner");
+        when(aiClient.translatePacked(any(Prompt.class), any(AiClientOptions.class)))
+                .thenReturn(Collections.singletonList(packed("1", "de", "Reiniger", "fr", "Nettoyant")));
+        when(aiClient.translate(any(Prompt.class), any(AiClientOptions.class)))
+                .thenReturn(translations("de", "Gesichtswasser", "fr", "Tonique"));
+
+        final Map<ProductModel, List<Translation>> result =
+                service.translateDescriptions(Arrays.asList(first, second), Locale.ENGLISH, options);
+
+        assertEquals(Arrays.asList("de:Reiniger", "fr:Nettoyant"), format(result.get(first)));
+        assertEquals(Arrays.asList("de:Gesichtswasser", "fr:Tonique"), format(result.get(second)));
+        final ArgumentCaptor<Prompt> prompt = ArgumentCaptor.forClass(Prompt.class);
+        verify(aiClient).translate(prompt.capture(), any(AiClientOptions.class));
+        assertTrue(prompt.getValue().getUser().contains("Toner"));
+    }
+
+    @Test
+    public void packsUpToTheConfiguredNumberOfProducts() {
+        configuration.setProperty("translationsai.packing.maxProducts", "2");
+        answerEveryRequest();
+        final List<ProductModel> products = Arrays.asList(product("Cleanser"), product("Toner"), product("Serum"),
+                product("Mask"), product("Balm"));
+
+        final Map<ProductModel, List<Translation>> result = service.translateDescriptions(products, Locale.ENGLISH, options);
+
+        assertEquals(Arrays.asList(Arrays.asList("Cleanser", "Toner"), Arrays.asList("Serum", "Mask")), packedSourceTexts());
+        verify(aiClient).translate(any(Prompt.class), any(AiClientOptions.class));
+        assertTranslated(products, result);
+    }
+
+    @Test
+    public void packsUpToTheTokenBudget() {
+        final int budget = TokenEstimator.estimateTranslation("Product 1", 2, "gpt-5-nano")
+                + TokenEstimator.estimateTranslation("Product 2", 2, "gpt-5-nano");
+        configuration.setProperty("translationsai.packing.maxTokens", String.valueOf(budget));
+        answerEveryRequest();
+        final List<ProductModel> products = Arrays.asList(product("Product 1"), product("Product 2"), product("Product 3"),
+                product("Product 4"), product("Product 5"));
+
+        final Map<ProductModel, List<Translation>> result = service.translateDescriptions(products, Locale.ENGLISH, options);
+
+        assertEquals(Arrays.asList(Arrays.asList("Product 1", "Product 2"), Arrays.asList("Product 3", "Product 4")),
+                packedSourceTexts());
+        verify(aiClient).translate(any(Prompt.class), any(AiClientOptions.class));
+        assertTranslated(products, result);
+    }
+
+    @Test
+    public void sendsADescriptionAboveTheTokenBudgetOnItsOwn() {
+        final String longDescription = String.join(" ", Collections.nCopies(200, "Gentle daily cleanser with aloe vera."));
+        configuration.setProperty("translationsai.packing.maxTokens", "500");
+        answerEveryRequest();
+        final List<ProductModel> products = Arrays.asList(product("Cleanser"), product("Toner"), product(longDescription),
+                product("Serum"));
+
+        final Map<ProductModel, List<Translation>> result = service.translateDescriptions(products, Locale.ENGLISH, options);
+
+        assertEquals(Collections.singletonList(Arrays.asList("Cleanser", "Toner")), packedSourceTexts());
+        final ArgumentCaptor<Prompt> single = ArgumentCaptor.forClass(Prompt.class);
+        verify(aiClient, times(2)).translate(single.capture(), any(AiClientOptions.class));
+        assertEquals(Arrays.asList(longDescription, "Serum"), single.getAllValues().stream()
+                .map(prompt -> prompt.getSourceTexts().get(0))
+                .collect(Collectors.toList()));
+        assertTranslated(products, result);
+    }
+
+    @Test
+    public void mapsAttributeTranslationsByQualifier() {
+        configuration.setProperty("translationsai.attributes", "name,summary,description");
+        final ProductModel product = mock(ProductModel.class);
+        when(modelService.getAttributeValue(product, ProductModel.NAME, Locale.ENGLISH)).thenReturn("Cleanser");
+        when(modelService.getAttributeValue(product, ProductModel.SUMMARY, Locale.ENGLISH)).thenReturn("Gentle");
+        when(modelService.getAttributeValue(product, ProductModel.DESCRIPTION, Locale.ENGLISH)).thenReturn("Gentle daily cleanser");
+        when(aiClient.translateAttributes(any(Prompt.class), any(AiClientOptions.class)))
+                .thenReturn(Arrays.asList(
+                        attribute(ProductModel.DESCRIPTION, "fr", "Nettoyant doux", "de", "Sanfter Reiniger"),
+                        attribute("ean", "de", "4006381333931"),
+                        attribute(ProductModel.NAME, "de", "Reiniger", "fr", "Nettoyant"),
+                        attribute(ProductModel.SUMMARY, "de", "Sanft")))
+                .thenReturn(Collections.singletonList(attribute(ProductModel.SUMMARY, "fr", "Doux", "de", "Mild")));
+
+        final Map<String, List<Translation>> result = service.translateAttributes(product, Locale.ENGLISH, options);
+
+        assertEquals(new HashSet<>(Arrays.asList(ProductModel.NAME, ProductModel.SUMMARY, ProductModel.DESCRIPTION)),
+                result.keySet());
+        assertEquals(Arrays.asList("de:Reiniger", "fr:Nettoyant"), format(result.get(ProductModel.NAME)));
+        assertEquals(Arrays.asList("de:Sanft", "fr:Doux"), format(result.get(ProductModel.SUMMARY)));
+        assertEquals(Arrays.asList("fr:Nettoyant doux", "de:Sanfter Reiniger"), format(result.get(ProductModel.DESCRIPTION)));
+        final ArgumentCaptor<Prompt> prompts = ArgumentCaptor.forClass(Prompt.class);
+        verify(aiClient, times(2)).translateAttributes(prompts.capture(), any(AiClientOptions.class));
+        assertEquals(Arrays.asList("Cleanser", "Gentle", "Gentle daily cleanser"), prompts.getAllValues().get(0).getSourceTexts());
+        assertEquals(Collections.singletonList("Gentle"), prompts.getAllValues().get(1).getSourceTexts());
+        assertTrue(prompts.getAllValues().get(1).getUser().contains("Requested output languages (IETF tags): fr."));
+    }
+
+    /**
+     * Answer every request with translations derived from the source texts; packed responses list the products in
+     * reverse order, so they can only be matched by id.
+     */
+    private void answerEveryRequest() {
+        when(aiClient.translatePacked(any(Prompt.class), any(AiClientOptions.class))).thenAnswer(invocation -> {
+            final List<String> sourceTexts = invocation.<Prompt>getArgument(0).getSourceTexts();
+            final List<ProductTranslationsResponse> responses = new ArrayList<>();
+            for (int id = sourceTexts.size(); id > 0; id--) {
+                final String sourceText = sourceTexts.get(id - 1);
+                responses.add(packed(String.valueOf(id), "de", sourceText + " (de)", "fr", sourceText + " (fr)"));
+            }
+            return responses;
+        });
+        when(aiClient.translate(any(Prompt.class), any(AiClientOptions.class))).thenAnswer(invocation -> {
+            final String sourceText = invocation.<Prompt>getArgument(0).getSourceTexts().get(0);
+            return translations("de", sourceText + " (de)", "fr", sourceText + " (fr)");
+        });
+    }
+
+    private List<List<String>> packedSourceTexts() {
+        final ArgumentCaptor<Prompt> prompts = ArgumentCaptor.forClass(Prompt.class);
+        verify(aiClient, atLeastOnce()).translatePacked(prompts.capture(), any(AiClientOptions.class));
+        return prompts.getAllValues().stream().map(Prompt::getSourceTexts).collect(Collectors.toList());
+    }
+
+    private static void assertTranslated(final List<ProductModel> products, final Map<ProductModel, List<Translation>> result) {
+        assertEquals(products.size(), result.size());
+        for (final ProductModel product : products) {
+            final String description = product.getDescription(Locale.ENGLISH);
+            assertEquals(Arrays.asList("de:" + description + " (de)", "fr:" + description + " (fr)"), format(result.get(product)));
+        }
+    }
+
+    private static ProductModel product(final String description) {
+        final ProductModel product = mock(ProductModel.class);
+        when(product.getDescription(Locale.ENGLISH)).thenReturn(description);
+        when(product.getCode()).thenReturn(description.toLowerCase(Locale.ROOT));
+        return product;
+    }
+
+    private static ProductTranslationsResponse packed(final String productId, final String... langAndText) {
+        final ProductTranslationsResponse response = new ProductTranslationsResponse();
+        response.setProductId(productId);
+        response.setTranslations(translations(langAndText));
+        return response;
+    }
+
+    private static AttributeTranslationsResponse attribute(final String qualifier, final String... langAndText) {
+        final AttributeTranslationsResponse response = new AttributeTranslationsResponse();
+        response.setAttribute(qualifier);
+        response.setTranslations(translations(langAndText));
+        return response;
+    }
+
+    private static List<Translation> translations(final String... langAndText) {
+        final List<Translation> translations = new ArrayList<>();
+        for (int i = 0; i < langAndText.length; i += 2) {
+            translations.add(new Translation(langAndText[i], langAndText[i + 1]));
+        }
+        return translations;
+    }
+
+    private static List<String> format(final List<Translation> translations) {
+        return translations.stream()
+                .map(translation -> translation.getLang() + ":" + translation.getDescription())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,146 @@
+package com.translations.ai.startup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.translations.ai.client.impl.OpenAiClient;
+import com.translations.ai.dto.options.AiClientOptions;
+import com.translations.ai.exception.AiClientException;
+import com.translations.ai.service.TranslationsAiService;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The warm-up thread is joined before verifying; exceptions escaping it are recorded instead of being printed.
+ */
+@UnitTest
+public class TranslationWarmUpTest {
+
+    private static final long TIMEOUT_MS = 5000L;
+
+    private final BaseConfiguration configuration = new BaseConfiguration();
+    private final TranslationsAiService translationsAiService = mock(TranslationsAiService.class);
+    private final OpenAiClient openAiClient = mock(OpenAiClient.class);
+    private final AiClientOptions options = mock(AiClientOptions.class);
+    private final TranslationWarmUp warmUp = new TranslationWarmUp();
+    private final List<Throwable> uncaught = new CopyOnWriteArrayList<>();
+
+    private Thread.UncaughtExceptionHandler defaultHandler;
+
+    @Before
+    public void setUp() {
+        configuration.setProperty("translationsai.warmup.enabled", "true");
+        final ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.getConfiguration()).thenReturn(configuration);
+        warmUp.setConfigurationService(configurationService);
+        warmUp.setTranslationsAiService(translationsAiService);
+        warmUp.setOpenAiClient(openAiClient);
+
+        when(translationsAiService.isEnabled()).thenReturn(true);
+        when(translationsAiService.getClientOptions()).thenReturn(options);
+        defaultHandler = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> uncaught.add(e));
+    }
+
+    @After
+    public void tearDown() {
+        Thread.setDefaultUncaughtExceptionHandler(defaultHandler);
+    }
+
+    @Test
+    public void warmsUpTheServiceAndConnectsTheClient() throws InterruptedException {
+        warmUp.start();
+        awaitWarmUp();
+
+        verify(translationsAiService).warmUp();
+        verify(openAiClient).warmUp(options, true);
+    }
+
+    @Test
+    public void doesNothingUnlessEnabled() throws InterruptedException {
+        configuration.setProperty("translationsai.warmup.enabled", "false");
+
+        warmUp.start();
+        awaitWarmUp();
+
+        verify(translationsAiService, never()).warmUp();
+        verify(openAiClient, never()).warmUp(any(), anyBoolean());
+    }
+
+    @Test
+    public void doesNothingWhileTheServiceIsDisabled() throws InterruptedException {
+        when(translationsAiService.isEnabled()).thenReturn(false);
+
+        warmUp.start();
+        awaitWarmUp();
+
+        verify(translationsAiService, never()).warmUp();
+        verify(openAiClient, never()).warmUp(any(), anyBoolean());
+    }
+
+    @Test
+    public void doesNotConnectInMockMode() throws InterruptedException {
+        configuration.setProperty("translationsai.mock.response", "true");
+
+        warmUp.start();
+        awaitWarmUp();
+
+        verify(translationsAiService).warmUp();
+        verify(openAiClient).warmUp(options, false);
+    }
+
+    @Test
+    public void doesNotConnectWhenConfiguredNotTo() throws InterruptedException {
+        configuration.setProperty("translationsai.warmup.connect", "false");
+
+        warmUp.start();
+        awaitWarmUp();
+
+        verify(openAiClient).warmUp(options, false);
+    }
+
+    @Test
+    public void swallowsAFailedServiceWarmUp() throws InterruptedException {
+        doThrow(new IllegalStateException("Schema generation failed")).when(translationsAiService).warmUp();
+
+        warmUp.start();
+        awaitWarmUp();
+
+        verify(openAiClient, never()).warmUp(any(), anyBoolean());
+        assertEquals(0, uncaught.size());
+    }
+
+    @Test
+    public void swallowsAFailedConnection() throws InterruptedException {
+        doThrow(new AiClientException("Connection refused")).when(openAiClient).warmUp(options, true);
+
+        warmUp.start();
+        awaitWarmUp();
+
+        verify(openAiClient).warmUp(options, true);
+        assertEquals(0, uncaught.size());
+    }
+
+    private static void awaitWarmUp() throws InterruptedException {
+        for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("translationsai-warmup-")) {
+                thread.join(TIMEOUT_MS);
+                assertTrue("Warm-up did not finish", !thread.isAlive());
+            }
+        }
+    }
+}
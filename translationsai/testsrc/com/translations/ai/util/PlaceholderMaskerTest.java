@@ -0,0 +1,88 @@
+package com.translations.ai.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.junit.Test;
+import com.translations.ai.util.PlaceholderMasker.MaskedText;
+
+@UnitTest
+public class PlaceholderMaskerTest {
+
+    private static final String TEXT = "<p><b>Serum</b> AB-1234-X with 50 ml, see https://example.com/care</p>";
+
+    private final PlaceholderMasker masker = PlaceholderMasker.fromConfiguration(new BaseConfiguration());
+
+    @Test
+    public void masksMarkupUrlsAndSkus() {
+        final MaskedText masked = masker.mask(TEXT);
+
+        assertEquals("{{1}}Serum{{2}} {{3}} with 50 ml, see {{4}}{{5}}", masked.getText());
+        assertEquals("<p><b>", masked.getValues().get(0));
+        assertEquals("AB-1234-X", masked.getValues().get(2));
+        assertEquals("https://example.com/care", masked.getValues().get(3));
+    }
+
+    @Test
+    public void restoresTheSourceText() {
+        final MaskedText masked = masker.mask(TEXT);
+
+        assertEquals(TEXT, PlaceholderMasker.unmask(masked.getText(), masked));
+    }
+
+    @Test
+    public void restoresReorderedPlaceholders() {
+        final MaskedText masked = masker.mask(TEXT);
+
+        assertEquals("<p><b>Serum</b> mit 50 ml AB-1234-X, siehe https://example.com/care</p>",
+                PlaceholderMasker.unmask("{{1}}Serum{{2}} mit 50 ml {{3}}, siehe {{4}}{{5}}", masked));
+    }
+
+    @Test
+    public void rejectsDroppedPlaceholders() {
+        final MaskedText masked = masker.mask(TEXT);
+
+        assertNull(PlaceholderMasker.unmask("{{1}}Serum{{2}} mit 50 ml, siehe {{4}}{{5}}", masked));
+    }
+
+    @Test
+    public void rejectsDuplicatedPlaceholders() {
+        final MaskedText masked = masker.mask(TEXT);
+
+        assertNull(PlaceholderMasker.unmask("{{1}}Serum{{2}} {{3}} {{3}} mit 50 ml, siehe {{4}}{{5}}", masked));
+    }
+
+    @Test
+    public void rejectsUnknownPlaceholders() {
+        final MaskedText masked = masker.mask(TEXT);
+
+        assertNull(PlaceholderMasker.unmask("{{1}}Serum{{2}} {{3}} mit 50 ml, siehe {{4}}{{5}}{{6}}", masked));
+    }
+
+    @Test
+    public void masksPlaceholdersOfTheSource() {
+        final MaskedText masked = masker.mask("Use {{1}} as variable");
+
+        assertEquals("Use {{1}} as variable", PlaceholderMasker.unmask(masked.getText(), masked));
+        assertEquals("{{1}}", masked.getValues().get(0));
+    }
+
+    @Test
+    public void keepsTextsWithoutProtectedParts() {
+        final MaskedText masked = masker.mask("Gentle daily cleanser");
+
+        assertTrue(masked.getValues().isEmpty());
+        assertEquals("Sanfter Reiniger", PlaceholderMasker.unmask("Sanfter Reiniger", masked));
+        assertNull(PlaceholderMasker.unmask(null, masked));
+    }
+
+    @Test
+    public void masksNumbersOnlyWhenEnabled() {
+        assertFalse(masker.mask("2 x 50 ml").getText().contains("{{"));
+        assertEquals("{{1}} x {{2}} ml", new PlaceholderMasker(true, null).mask("2 x 50 ml").getText());
+    }
+}
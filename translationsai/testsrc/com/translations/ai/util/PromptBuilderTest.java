@@ -0,0 +1,107 @@
+package com.translations.ai.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import com.translations.ai.dto.options.PromptOptions;
+import com.translations.ai.dto.request.Prompt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@UnitTest
+public class PromptBuilderTest {
+
+    private final BaseConfiguration configuration = new BaseConfiguration();
+
+    private PromptOptions options;
+
+    @Before
+    public void setUp() {
+        options = new PromptOptions();
+        options.setSourceLanguage("en");
+        options.setTargetLanguages(Arrays.asList("de", "fr"));
+    }
+
+    @Test
+    public void sharesTheSystemPromptBetweenProducts() {
+        final PromptTemplates templates = PromptTemplates.fromConfiguration(configuration);
+        final PromptOptions other = new PromptOptions();
+        other.setSourceLanguage("en");
+        other.setTargetLanguages(Arrays.asList("it"));
+        other.setTone("playful");
+        other.setMaxLength(Integer.valueOf(50));
+
+        final Prompt first = PromptBuilder.buildTranslatePrompt(templates, "Gentle daily cleanser", Locale.ENGLISH, options);
+        final Prompt second = PromptBuilder.buildTranslatePrompt(templates, "Hydrating toner", Locale.ENGLISH, other);
+
+        assertTrue(Arrays.equals(first.getSystem().getBytes(StandardCharsets.UTF_8),
+                second.getSystem().getBytes(StandardCharsets.UTF_8)));
+        assertNotEquals(first.getUser(), second.getUser());
+    }
+
+    @Test
+    public void keepsRequestValuesOutOfTheSystemPrompt() {
+        final PromptTemplates templates = PromptTemplates.fromConfiguration(configuration);
+
+        final Prompt prompt = PromptBuilder.buildTranslatePrompt(templates, "Gentle daily cleanser", Locale.ENGLISH, options);
+
+        assertFalse(prompt.getSystem().contains("Gentle daily cleanser"));
+        assertFalse(prompt.getSystem().contains("de, fr"));
+        assertTrue(prompt.getUser().endsWith("Gentle daily cleanser"));
+        assertTrue(prompt.getUser().contains("Requested output languages (IETF tags): de, fr."));
+    }
+
+    @Test
+    public void sharesTheSystemPromptBetweenPacks() {
+        final PromptTemplates templates = PromptTemplates.fromConfiguration(configuration);
+        final Map<String, String> firstPack = new LinkedHashMap<>();
+        firstPack.put("1", "Gentle daily cleanser");
+        firstPack.put("2", "Hydrating toner");
+        final Map<String, String> secondPack = new LinkedHashMap<>();
+        secondPack.put("1", "Night serum");
+        secondPack.put("2", "Clay mask");
+        secondPack.put("3", "Lip balm");
+
+        final Prompt first = PromptBuilder.buildPackedTranslatePrompt(templates, firstPack, Locale.ENGLISH, options);
+        final Prompt second = PromptBuilder.buildPackedTranslatePrompt(templates, secondPack, Locale.ENGLISH, options);
+
+        assertEquals(first.getSystem(), second.getSystem());
+        assertTrue(first.getSystem().contains(PromptTemplates.PACKED_INSTRUCTIONS));
+        assertTrue(second.getUser().contains("### Product id: 3\n"));
+    }
+
+    @Test
+    public void explainsPlaceholdersOnlyWhenMaskingIsEnabled() {
+        configuration.setProperty("translationsai.masking.enabled", "false");
+        final PromptTemplates unmasked = PromptTemplates.fromConfiguration(configuration);
+        configuration.setProperty("translationsai.masking.enabled", "true");
+        final PromptTemplates masked = PromptTemplates.fromConfiguration(configuration);
+
+        for (final PromptTemplates.Shape shape : PromptTemplates.Shape.values()) {
+            for (final boolean enhance : new boolean[] { false, true }) {
+                assertFalse(unmasked.getSystemPrompt(enhance, shape).contains(PromptTemplates.PLACEHOLDER_INSTRUCTIONS));
+                assertTrue(masked.getSystemPrompt(enhance, shape).contains(PromptTemplates.PLACEHOLDER_INSTRUCTIONS));
+            }
+        }
+    }
+
+    @Test
+    public void usesOverriddenInstructions() {
+        configuration.setProperty("translationsai.prompt.system.translate", "Translate with the brand glossary.");
+
+        final PromptTemplates templates = PromptTemplates.fromConfiguration(configuration);
+
+        assertTrue(templates.getSystemPrompt(false, PromptTemplates.Shape.SINGLE).startsWith("Translate with the brand glossary.\n"));
+        assertTrue(templates.getSystemPrompt(true, PromptTemplates.Shape.SINGLE).startsWith(PromptTemplates.ENHANCE_INSTRUCTIONS));
+    }
+}
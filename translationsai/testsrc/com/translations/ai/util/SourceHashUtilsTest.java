@@ -0,0 +1,65 @@
+package com.translations.ai.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@UnitTest
+public class SourceHashUtilsTest {
+
+    @Test
+    public void ignoresWhitespaceAtTheEdges() {
+        assertEquals(SourceHashUtils.hash("Gentle daily cleanser"), SourceHashUtils.hash("  Gentle daily cleanser\n"));
+        assertNull(SourceHashUtils.hash(" "));
+        assertNull(SourceHashUtils.hash((String) null));
+    }
+
+    @Test
+    public void hashesASingleAttributeLikeItsText() {
+        assertEquals(SourceHashUtils.hash("Gentle daily cleanser"),
+                SourceHashUtils.hash(Collections.singletonMap("description", "Gentle daily cleanser")));
+        assertNull(SourceHashUtils.hash(Collections.singletonMap("description", (String) null)));
+    }
+
+    @Test
+    public void changesWithAnyAttribute() {
+        final String hash = SourceHashUtils.hash(values("Cleanser", "Gentle daily cleanser"));
+
+        assertNotEquals(hash, SourceHashUtils.hash(values("Face cleanser", "Gentle daily cleanser")));
+        assertNotEquals(hash, SourceHashUtils.hash(values("Cleanser", "Gentle cleanser")));
+        assertNotEquals(hash, SourceHashUtils.hash("Gentle daily cleanser"));
+    }
+
+    @Test
+    public void separatesTheAttributes() {
+        assertNotEquals(SourceHashUtils.hash(values("Cleanser gentle", "daily")),
+                SourceHashUtils.hash(values("Cleanser", "gentle daily")));
+        final Map<String, String> swapped = new LinkedHashMap<>();
+        swapped.put("name", "Gentle daily cleanser");
+        swapped.put("description", "Cleanser");
+        assertNotEquals(SourceHashUtils.hash(values("Cleanser", "Gentle daily cleanser")), SourceHashUtils.hash(swapped));
+    }
+
+    @Test
+    public void skipsBlankAttributes() {
+        assertEquals(SourceHashUtils.hash(values("Cleanser", "Gentle daily cleanser")),
+                SourceHashUtils.hash(values(" Cleanser ", "Gentle daily cleanser")));
+        assertEquals(SourceHashUtils.hash(values(null, "Gentle daily cleanser")),
+                SourceHashUtils.hash(values(" ", "Gentle daily cleanser")));
+        assertNull(SourceHashUtils.hash(values(null, " ")));
+    }
+
+    private static Map<String, String> values(final String name, final String description) {
+        final Map<String, String> values = new LinkedHashMap<>();
+        values.put("name", name);
+        values.put("description", description);
+        return values;
+    }
+}
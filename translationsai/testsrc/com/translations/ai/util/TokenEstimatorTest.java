@@ -0,0 +1,54 @@
+package com.translations.ai.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import org.junit.Test;
+import com.translations.ai.dto.request.Prompt;
+import com.translations.ai.dto.request.TokenEstimate;
+
+import java.util.Arrays;
+
+@UnitTest
+public class TokenEstimatorTest {
+
+    private static final String TEXT = "A gentle daily cleanser with aloe vera for sensitive skin.";
+
+    @Test
+    public void countsNoTokensForEmptyTexts() {
+        assertEquals(0, TokenEstimator.estimate((String) null));
+        assertEquals(0, TokenEstimator.count("", "gpt-4o-mini"));
+    }
+
+    @Test
+    public void countsUnknownModelsWithTheDefaultEncoding() {
+        final int tokens = TokenEstimator.estimate(TEXT);
+
+        assertTrue(tokens > 5 && tokens < TEXT.length());
+        assertEquals(tokens, TokenEstimator.count(TEXT, "some-future-model"));
+    }
+
+    @Test
+    public void estimatesOneGeneratedCopyPerLanguage() {
+        final int source = TokenEstimator.estimate(TEXT);
+        final int oneLanguage = TokenEstimator.estimateTranslation(TEXT, 1, null);
+        final int threeLanguages = TokenEstimator.estimateTranslation(TEXT, 3, null);
+
+        assertTrue(oneLanguage > 2 * source);
+        assertEquals(source + 3 * (oneLanguage - source), threeLanguages);
+        assertEquals(oneLanguage, TokenEstimator.estimateTranslation(TEXT, 0, null));
+    }
+
+    @Test
+    public void estimatesPromptAndCompletionOfARequest() {
+        final Prompt prompt = new Prompt("Translate the text.", TEXT, Arrays.asList(TEXT, TEXT), 2);
+
+        final TokenEstimate estimate = TokenEstimator.estimate(prompt, null);
+
+        assertEquals(1, estimate.getRequests());
+        assertTrue(estimate.getPromptTokens() > TokenEstimator.estimate("Translate the text.") + TokenEstimator.estimate(TEXT));
+        assertEquals(2 * (TokenEstimator.estimateTranslation(TEXT, 2, null) - TokenEstimator.estimate(TEXT)),
+                estimate.getCompletionTokens());
+    }
+}